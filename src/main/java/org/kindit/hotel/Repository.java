@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.kindit.hotel.data.additionalService.AdditionalServiceRepository;
 import org.kindit.hotel.data.booking.BookingRepository;
+import org.kindit.hotel.data.refreshToken.RefreshTokenRepository;
 import org.kindit.hotel.data.room.RoomRepository;
 import org.kindit.hotel.data.user.UserRepository;
 import org.springframework.stereotype.Component;
@@ -16,4 +17,5 @@ public class Repository {
     private final RoomRepository roomRepository;
     private final AdditionalServiceRepository additionalServiceRepository;
     private final BookingRepository bookingRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
 }
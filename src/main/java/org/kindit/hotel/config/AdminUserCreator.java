@@ -15,10 +15,17 @@ public class AdminUserCreator implements CommandLineRunner {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
+    private static final String ADMIN_EMAIL = "admin@example.com";
+
+    // The schema now survives restarts, so the account is only created on first start.
     @Override
     public void run(String... args) {
+        if (userRepository.findByEmail(ADMIN_EMAIL).isPresent()) {
+            return;
+        }
+
         User admin = User.builder()
-                .email("admin@example.com")
+                .email(ADMIN_EMAIL)
                 .role(Role.ADMIN)
                 .password(passwordEncoder.encode("AdminSuperSecretPassword"))
                 .build();
@@ -0,0 +1,46 @@
+package org.kindit.hotel.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.kindit.hotel.data.CacheRegions;
+import org.kindit.hotel.data.additionalService.AdditionalService;
+import org.kindit.hotel.data.room.Room;
+import org.springframework.stereotype.Component;
+
+/**
+ * Explicit eviction of the room catalog from the second-level cache. Hibernate
+ * already updates the regions for the writes it flushes itself; the catalog
+ * services call this after their writes so the cached catalog queries and
+ * collections never outlive a change made through them.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogCache {
+
+    private static final String ROOM_SERVICES_ROLE = Room.class.getName() + ".additionalServices";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictRoom(Integer id) {
+        Cache cache = cache();
+
+        cache.evictEntityData(Room.class, id);
+        cache.evictCollectionData(ROOM_SERVICES_ROLE, id);
+        cache.evictQueryRegion(CacheRegions.CATALOG_QUERIES);
+    }
+
+    // Rooms reference services by id, so every cached room collection is dropped along with the service.
+    public void evictAdditionalService(Integer id) {
+        Cache cache = cache();
+
+        cache.evictEntityData(AdditionalService.class, id);
+        cache.evictCollectionData(ROOM_SERVICES_ROLE);
+        cache.evictQueryRegion(CacheRegions.CATALOG_QUERIES);
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -1,14 +1,19 @@
 package org.kindit.hotel.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.kindit.hotel.data.user.Role;
+import org.kindit.hotel.data.user.User;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.*;
 import java.util.function.Function;
 
@@ -17,6 +22,18 @@ public class JwtService {
 
     private static final String SECRET_KEY = "SuperSuperSuperSuperSuperSuperSuperSuperSuperSuperSecretKey";
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String VERSION_CLAIM = "ver";
+
+    // Both are immutable and thread-safe, so they are built once instead of per token.
+    private final SecretKey signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+    private final JwtParser parser = Jwts.parser().verifyWith(signInKey).build();
+
+    // Kept short: revocation is checked cheaply per request, and clients renew through /auth/refresh.
+    @Value("${hotel.security.jwt.access-token-ttl:15m}")
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -26,6 +43,30 @@ public class JwtService {
         return claimResolver.apply(claims);
     }
 
+    /**
+     * Verifies the signature and expiry of the token in a single parse.
+     * Returns empty for a malformed, tampered or expired token.
+     */
+    public Optional<Claims> parseVerified(String token) {
+        try {
+            return Optional.of(extractAllClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Token that carries everything the filter needs to build the principal,
+     * so authenticated requests do not have to load the user.
+     */
+    public String generateToken(User user) {
+        return buildToken(Map.of(
+                USER_ID_CLAIM, user.getId(),
+                ROLE_CLAIM, user.getRole().name(),
+                VERSION_CLAIM, user.getTokenVersion()
+        ), user.getUsername());
+    }
+
     public String generateToken(UserDetails userDetails) {
         return generateToken(new HashMap<>(), userDetails);
     }
@@ -34,40 +75,54 @@ public class JwtService {
             Map<String, Objects> extraClaims,
             UserDetails userDetails
     ) {
+        return buildToken(extraClaims, userDetails.getUsername());
+    }
+
+    private String buildToken(Map<String, ?> claims, String subject) {
         return Jwts
                 .builder()
-                .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .claims(claims)
+                .subject(subject)
+                .issuedAt(new Date(System.currentTimeMillis()))
+                .expiration(new Date(System.currentTimeMillis() + accessTokenTtl.toMillis()))
+                .signWith(signInKey, Jwts.SIG.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    public boolean isStateless(Claims claims) {
+        return claims.containsKey(USER_ID_CLAIM) && claims.containsKey(ROLE_CLAIM) && claims.containsKey(VERSION_CLAIM);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Principal rebuilt from a stateless token. Only id, email, role and token
+     * version are set; load the user when anything else is needed.
+     */
+    public User toPrincipal(Claims claims) {
+        return User.builder()
+                .id(claims.get(USER_ID_CLAIM, Integer.class))
+                .email(claims.getSubject())
+                .role(Role.valueOf(claims.get(ROLE_CLAIM, String.class)))
+                .tokenVersion(claims.get(VERSION_CLAIM, Integer.class))
+                .build();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return parseVerified(token)
+                .map(claims -> isTokenValid(claims, userDetails))
+                .orElse(false);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject()) && !isTokenExpired(claims);
+    }
+
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Claims extractAllClaims(String token) {
+        return parser
+                .parseSignedClaims(token)
+                .getPayload();
     }
 }
@@ -0,0 +1,128 @@
+package org.kindit.hotel.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Per-client rate limit for the configured routes, keyed by remote address.
+ * Each bucket is a single AtomicLong holding the theoretical arrival time of the
+ * next request (GCRA), so admitting a request is one CAS with no locking. Every
+ * route keeps its own bounded map keyed by the address string the request
+ * already holds, so a known client costs no allocation. Past the bound the least
+ * valuable buckets are evicted rather than new clients sharing one; idle buckets
+ * are also swept periodically.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Function<String, AtomicLong> NEW_BUCKET = client -> new AtomicLong(Long.MIN_VALUE);
+
+    private final RateLimitProperties properties;
+    private final List<Limit> limits;
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.limits = properties.getRoutes().stream()
+                .map(route -> new Limit(
+                        PathPatternParser.defaultInstance.parse(route.getPattern()),
+                        (long) (1_000_000_000L / route.getRefillPerSecond()),
+                        route.getCapacity(),
+                        Caffeine.newBuilder().maximumSize(properties.getMaxClients()).<String, AtomicLong>build()
+                ))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || limits.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+
+        for (int i = 0; i < limits.size(); i++) {
+            Limit limit = limits.get(i);
+
+            if (limit.pattern().matches(path)) {
+                long waitNanos = acquire(limit, request.getRemoteAddr());
+
+                if (waitNanos > 0) {
+                    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                    response.setHeader("Retry-After", String.valueOf(Math.max(1, waitNanos / 1_000_000_000L)));
+                    return;
+                }
+
+                break;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Returns 0 when the request is admitted, otherwise how long the client has to wait.
+     */
+    private long acquire(Limit limit, String client) {
+        AtomicLong bucket = limit.buckets().get(client, NEW_BUCKET);
+        long burst = limit.interval() * (limit.capacity() - 1);
+
+        while (true) {
+            long now = System.nanoTime();
+            long stored = bucket.get();
+            long arrival = Math.max(stored, now);
+
+            if (arrival - now > burst) {
+                return arrival - now - burst;
+            }
+
+            if (bucket.compareAndSet(stored, arrival + limit.interval())) {
+                return 0;
+            }
+        }
+    }
+
+    // A bucket whose arrival time is in the past is full again, so dropping it loses nothing.
+    @Scheduled(fixedDelayString = "${hotel.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long idleBefore = System.nanoTime() - properties.getIdleTimeout().toNanos();
+
+        for (Limit limit : limits) {
+            limit.buckets().asMap().values().removeIf(bucket -> bucket.get() < idleBefore);
+        }
+    }
+
+    long trackedClients() {
+        long clients = 0;
+
+        for (Limit limit : limits) {
+            limit.buckets().cleanUp();
+            clients += limit.buckets().estimatedSize();
+        }
+
+        return clients;
+    }
+
+    private record Limit(PathPattern pattern, long interval, int capacity, Cache<String, AtomicLong> buckets) {}
+}
@@ -0,0 +1,33 @@
+package org.kindit.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties("hotel.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets untouched for this long are dropped by the sweeper.
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // Buckets kept per route; beyond this the least valuable ones are evicted.
+    private int maxClients = 100_000;
+
+    // Checked in order; the first matching route applies.
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        private String pattern;
+        private int capacity;
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,81 @@
+package org.kindit.hotel.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.kindit.hotel.data.user.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Current token version per user. A token is accepted only while the version it
+ * carries matches, so bumping the version revokes every token issued before.
+ * Versions are read from {@code users.token_version} and kept for a short TTL,
+ * so a bump made on another instance revokes tokens here within that TTL. A
+ * token newer than the cached version was issued after such a bump and forces
+ * an immediate re-read instead of being rejected, unless the user is cached as
+ * deleted.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+
+    // Loads run here rather than inside the cache's compute, where a JDBC call would pin a virtual thread.
+    private final ExecutorService loader = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AsyncCache<Integer, Integer> versions;
+
+    public TokenRevocationRegistry(
+            UserRepository userRepository,
+            @Value("${hotel.security.token-versions.ttl:10s}") Duration ttl,
+            @Value("${hotel.security.token-versions.max-size:100000}") long maxSize
+    ) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(loader)
+                .buildAsync();
+    }
+
+    public boolean isCurrent(Integer userId, int tokenVersion) {
+        int current = current(userId);
+
+        // A deleted user stays rejected for the TTL; replayed tokens must not reach the database.
+        if (current == REVOKED) {
+            return false;
+        }
+
+        if (tokenVersion > current) {
+            versions.synchronous().invalidate(userId);
+            current = current(userId);
+        }
+
+        return current == tokenVersion;
+    }
+
+    public void update(Integer userId, int tokenVersion) {
+        versions.put(userId, CompletableFuture.completedFuture(tokenVersion));
+    }
+
+    public void revokeAll(Integer userId) {
+        versions.put(userId, CompletableFuture.completedFuture(REVOKED));
+    }
+
+    private int current(Integer userId) {
+        return versions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(REVOKED)).join();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdown();
+    }
+}
@@ -0,0 +1,72 @@
+package org.kindit.hotel.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Principals resolved by email, so an authenticated request does not have to
+ * hit the database just to rebuild the user. Entries expire after a short TTL
+ * and are evicted explicitly whenever a user's email, password or role changes.
+ */
+@Component
+public class UserDetailsCache {
+
+    // Loads run here rather than inside the cache's compute, where a JDBC call would pin a virtual thread.
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AsyncCache<String, UserDetails> cache;
+
+    public UserDetailsCache(
+            @Value("${hotel.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${hotel.security.user-cache.ttl:5m}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(loadExecutor)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    /**
+     * Loads atomically: concurrent misses share one load, and an eviction during
+     * the load drops its result instead of letting it be cached afterwards.
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        try {
+            return cache.get(email, loader).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.synchronous().invalidate(email);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loadExecutor.shutdown();
+    }
+}
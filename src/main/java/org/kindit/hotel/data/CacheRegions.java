@@ -0,0 +1,16 @@
+package org.kindit.hotel.data;
+
+/**
+ * Second-level cache regions of the room catalog. Each one is sized in
+ * {@code hibernate-cache.conf}; a region missing there fails the startup.
+ */
+public final class CacheRegions {
+
+    public static final String ROOM = "room";
+    public static final String ROOM_SERVICES = "room-services";
+    public static final String ADDITIONAL_SERVICE = "additional-service";
+    public static final String CATALOG_QUERIES = "catalog-queries";
+
+    private CacheRegions() {
+    }
+}
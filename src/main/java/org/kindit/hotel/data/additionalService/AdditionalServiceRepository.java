@@ -1,5 +1,27 @@
 package org.kindit.hotel.data.additionalService;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.kindit.hotel.data.CacheRegions;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface AdditionalServiceRepository extends JpaRepository<AdditionalService, Integer> {}
+import java.util.List;
+
+public interface AdditionalServiceRepository extends JpaRepository<AdditionalService, Integer> {
+
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.CATALOG_QUERIES)
+    })
+    List<AdditionalService> findAll();
+
+    // Every booking resolves its services through this one.
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.CATALOG_QUERIES)
+    })
+    List<AdditionalService> findAllById(Iterable<Integer> ids);
+}
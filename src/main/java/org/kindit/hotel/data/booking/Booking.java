@@ -17,10 +17,22 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@NamedEntityGraph(
+        name = Booking.WITH_USER_AND_ROOM,
+        attributeNodes = {@NamedAttributeNode("user"), @NamedAttributeNode("room")}
+)
+@Table(indexes = {
+        @Index(name = "idx_booking_room_status_dates", columnList = "room_id, status, check_in_date, check_out_date"),
+        @Index(name = "idx_booking_user_check_in", columnList = "user_id, check_in_date desc"),
+        @Index(name = "idx_booking_status_check_out", columnList = "status, check_out_date, check_in_date")
+})
 public class Booking {
 
+    public static final String WITH_USER_AND_ROOM = "Booking.withUserAndRoom";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
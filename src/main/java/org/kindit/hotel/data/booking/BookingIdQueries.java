@@ -0,0 +1,19 @@
+package org.kindit.hotel.data.booking;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Runs a booking specification for ids only, so a listing can select its
+ * columns with a constructor expression instead of loading entities.
+ */
+public interface BookingIdQueries {
+
+    Page<Integer> findIds(Specification<Booking> specification, Pageable pageable);
+
+    List<Integer> findIds(Specification<Booking> specification, Sort sort, int limit);
+}
@@ -0,0 +1,68 @@
+package org.kindit.hotel.data.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+class BookingIdQueriesImpl implements BookingIdQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Integer> findIds(Specification<Booking> specification, Pageable pageable) {
+        TypedQuery<Integer> query = idQuery(specification, pageable.getSort());
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(specification));
+    }
+
+    @Override
+    public List<Integer> findIds(Specification<Booking> specification, Sort sort, int limit) {
+        return idQuery(specification, sort).setMaxResults(limit).getResultList();
+    }
+
+    private TypedQuery<Integer> idQuery(Specification<Booking> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> query = cb.createQuery(Integer.class);
+        Root<Booking> root = query.from(Booking.class);
+
+        query.select(root.get("id"));
+        where(query, root, cb, specification);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Booking> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Booking> root = query.from(Booking.class);
+
+        query.select(cb.count(root));
+        where(query, root, cb, specification);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private void where(CriteriaQuery<?> query, Root<Booking> root, CriteriaBuilder cb, Specification<Booking> specification) {
+        Predicate predicate = specification.toPredicate(root, query, cb);
+
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
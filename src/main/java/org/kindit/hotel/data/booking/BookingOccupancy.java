@@ -0,0 +1,5 @@
+package org.kindit.hotel.data.booking;
+
+import java.time.LocalDate;
+
+public record BookingOccupancy(Integer roomId, LocalDate checkInDate, LocalDate checkOutDate, BookingStatus status) {}
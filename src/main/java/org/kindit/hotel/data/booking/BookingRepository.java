@@ -2,18 +2,84 @@ package org.kindit.hotel.data.booking;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
+public interface BookingRepository extends JpaRepository<Booking, Integer>, JpaSpecificationExecutor<Booking>, BookingIdQueries {
     List<Booking> findByRoomId(Integer id);
     List<Booking> findByUserId(Integer id);
     List<Booking> findByRoomIdAndStatusIn(Integer roomId, List<BookingStatus> statuses);
-    Optional<Booking> findByIdAndUserId(Integer id, Integer userId);
+
+    // Written out: the derived form joins room and filters on room.id, which H2 cannot push into the booking index.
+    @Query("select count(b) > 0 from Booking b where b.room.id = :roomId and b.status in :statuses " +
+            "and b.checkInDate <= :checkOut and b.checkOutDate >= :checkIn")
+    boolean existsByRoomIdAndStatusInAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqual(
+            @Param("roomId") Integer roomId,
+            @Param("statuses") List<BookingStatus> statuses,
+            @Param("checkOut") LocalDate checkOut,
+            @Param("checkIn") LocalDate checkIn
+    );
+
+    @Query("select count(b) > 0 from Booking b where b.room.id = :roomId and b.status in :statuses " +
+            "and b.id <> :bookingId and b.checkInDate <= :checkOut and b.checkOutDate >= :checkIn")
+    boolean existsByRoomIdAndStatusInAndIdNotAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqual(
+            @Param("roomId") Integer roomId,
+            @Param("statuses") List<BookingStatus> statuses,
+            @Param("bookingId") Integer bookingId,
+            @Param("checkOut") LocalDate checkOut,
+            @Param("checkIn") LocalDate checkIn
+    );
+
     Page<Booking> findByStatus(BookingStatus status, Pageable pageable);
-    Page<Booking> findByUserId(Long userId, Pageable pageable);
-    Page<Booking> findByStatusAndUserId(BookingStatus status, Long userId, Pageable pageable);
+
+    @Query("select b.room.id from Booking b where b.id = :id")
+    Optional<Integer> findRoomIdById(@Param("id") Integer id);
+
+    @Query("select new org.kindit.hotel.data.booking.BookingStay(b.id, b.room.id, b.checkInDate, b.checkOutDate) " +
+            "from Booking b where b.status in :statuses")
+    List<BookingStay> findStaysByStatusIn(@Param("statuses") List<BookingStatus> statuses);
+
+    @Query("select new org.kindit.hotel.data.booking.BookingOccupancy(b.room.id, b.checkInDate, b.checkOutDate, b.status) " +
+            "from Booking b where b.status in :statuses and b.checkInDate <= :to and b.checkOutDate >= :from " +
+            "order by b.room.id, b.checkInDate")
+    List<BookingOccupancy> findOccupancy(
+            @Param("statuses") List<BookingStatus> statuses,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("select new org.kindit.hotel.data.booking.BookingStay(b.id, b.room.id, b.checkInDate, b.checkOutDate) " +
+            "from Booking b where b.room.id in :roomIds and b.status in :statuses " +
+            "and b.checkInDate <= :to and b.checkOutDate >= :from")
+    List<BookingStay> findStaysOverlapping(
+            @Param("roomIds") Collection<Integer> roomIds,
+            @Param("statuses") List<BookingStatus> statuses,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("select new org.kindit.hotel.data.booking.BookingView(b.id, u.id, u.firstname, u.lastname, u.email, " +
+            "r.id, r.number, r.name, r.pricePerNight, b.checkInDate, b.checkOutDate, b.status, b.totalPrice) " +
+            "from Booking b left join b.user u left join b.room r where b.id in :ids")
+    List<BookingView> findViewsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select new org.kindit.hotel.data.booking.BookingServiceView(b.id, s.id, s.name, s.price) " +
+            "from Booking b join b.additionalServices s where b.id in :ids")
+    List<BookingServiceView> findServicesByBookingIdIn(@Param("ids") Collection<Integer> ids);
+
+    @EntityGraph(Booking.WITH_USER_AND_ROOM)
+    Optional<Booking> findByIdAndUserId(Integer id, Integer userId);
+
+    @Override
+    @EntityGraph(Booking.WITH_USER_AND_ROOM)
+    Optional<Booking> findById(Integer id);
 
 }
@@ -0,0 +1,3 @@
+package org.kindit.hotel.data.booking;
+
+public record BookingServiceView(Integer bookingId, Integer id, String name, Integer price) {}
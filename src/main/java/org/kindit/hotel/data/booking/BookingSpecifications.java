@@ -0,0 +1,89 @@
+package org.kindit.hotel.data.booking;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.kindit.hotel.data.user.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+public final class BookingSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private BookingSpecifications() {}
+
+    public static Specification<Booking> belongsTo(Integer userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Booking> hasStatus(BookingStatus status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Booking> userEmailContains(String email) {
+        return userAttributeContains("email", email);
+    }
+
+    public static Specification<Booking> userFirstnameContains(String firstname) {
+        return userAttributeContains("firstname", firstname);
+    }
+
+    public static Specification<Booking> userLastnameContains(String lastname) {
+        return userAttributeContains("lastname", lastname);
+    }
+
+    public static Specification<Booking> checkInFrom(LocalDate from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("checkInDate"), from);
+    }
+
+    public static Specification<Booking> checkInTo(LocalDate to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThanOrEqualTo(root.get("checkInDate"), to);
+    }
+
+    public static Specification<Booking> idAfter(Integer id) {
+        return (root, query, cb) -> id == null ? null : cb.greaterThan(root.get("id"), id);
+    }
+
+    public static Specification<Booking> checkInBefore(LocalDate checkInDate, Integer id) {
+        return (root, query, cb) -> {
+            if (checkInDate == null || id == null) {
+                return null;
+            }
+
+            return cb.or(
+                    cb.lessThan(root.get("checkInDate"), checkInDate),
+                    cb.and(cb.equal(root.get("checkInDate"), checkInDate), cb.lessThan(root.get("id"), id))
+            );
+        };
+    }
+
+    private static Specification<Booking> userAttributeContains(String attribute, String value) {
+        return (root, query, cb) -> {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+
+            String pattern = "%" + escapeLike(value.toLowerCase()) + "%";
+
+            return cb.like(cb.lower(userJoin(root).get(attribute)), pattern, LIKE_ESCAPE);
+        };
+    }
+
+    // The filter is a plain substring match, so wildcards typed by the client match themselves.
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Join<Booking, User> userJoin(Root<Booking> root) {
+        for (Join<Booking, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("user")) {
+                return (Join<Booking, User>) join;
+            }
+        }
+
+        return root.join("user", JoinType.INNER);
+    }
+}
@@ -1,10 +1,18 @@
 package org.kindit.hotel.data.booking;
 
+import java.util.List;
+
 public enum BookingStatus {
     PENDING,
     CONFIRMED,
     CHECKED_IN,
     CHECKED_OUT,
     CANCELLED,
-    NO_SHOW
+    NO_SHOW;
+
+    public static final List<BookingStatus> ACTIVE = List.of(PENDING, CONFIRMED, CHECKED_IN);
+
+    public boolean isActive() {
+        return ACTIVE.contains(this);
+    }
 }
@@ -0,0 +1,5 @@
+package org.kindit.hotel.data.booking;
+
+import java.time.LocalDate;
+
+public record BookingStay(Integer bookingId, Integer roomId, LocalDate checkInDate, LocalDate checkOutDate) {}
@@ -0,0 +1,19 @@
+package org.kindit.hotel.data.booking;
+
+import java.time.LocalDate;
+
+public record BookingView(
+        Integer id,
+        Integer userId,
+        String firstname,
+        String lastname,
+        String email,
+        Integer roomId,
+        Integer roomNumber,
+        String roomName,
+        Integer roomPricePerNight,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        BookingStatus status,
+        Integer totalPrice
+) {}
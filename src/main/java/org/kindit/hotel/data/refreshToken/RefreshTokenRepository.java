@@ -0,0 +1,36 @@
+package org.kindit.hotel.data.refreshToken;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Integer> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Returns 0 when another request already rotated the token.
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.id = :id and t.revoked = false")
+    int revoke(@Param("id") Integer id);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.family = :family")
+    int revokeFamily(@Param("family") String family);
+
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.user.id = :userId")
+    int revokeAllByUserId(@Param("userId") Integer userId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.user.id = :userId and t.expiresAt < :now")
+    int deleteExpiredByUserId(@Param("userId") Integer userId, @Param("now") Instant now);
+}
@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.kindit.hotel.data.CacheRegions;
 import org.kindit.hotel.data.additionalService.AdditionalService;
 
 import java.util.List;
@@ -14,6 +17,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_room_number", columnList = "number"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROOM)
 public class Room {
 
     @Id
@@ -31,6 +36,7 @@ public class Room {
     private boolean isAvailable = true;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROOM_SERVICES)
     @JoinTable(
             name = "room_additional_service",
             joinColumns = @JoinColumn(name = "room_id"),
@@ -1,14 +1,56 @@
 package org.kindit.hotel.data.room;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.kindit.hotel.data.CacheRegions;
+import org.kindit.hotel.data.booking.BookingStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface RoomRepository extends JpaRepository<Room, Integer> {
 
+    // Scanned by the in-memory availability search on every request.
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.CATALOG_QUERIES)
+    })
+    List<Room> findAll();
+
     Optional<Room> findByNumber(Integer number);
 
     // Если захочешь искать все доступные комнаты
     List<Room> findByIsAvailableTrue();
+
+    List<RoomView> findAllProjectedByOrderByIdAsc();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Room r where r.id = :id")
+    Optional<Room> findByIdForUpdate(@Param("id") Integer id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Room r where r.id in :ids order by r.id")
+    List<Room> findAllByIdForUpdate(@Param("ids") Collection<Integer> ids);
+
+    @Query("select distinct r.imagePath from Room r where r.imagePath is not null and r.imagePath <> ''")
+    Set<String> findAllImagePaths();
+
+    @Query("select r from Room r where not exists (" +
+            "select b.id from Booking b where b.room = r and b.status in :statuses " +
+            "and b.checkInDate <= :checkOut and b.checkOutDate >= :checkIn)")
+    List<Room> findAvailable(
+            @Param("checkIn") LocalDate checkIn,
+            @Param("checkOut") LocalDate checkOut,
+            @Param("statuses") List<BookingStatus> statuses
+    );
 }
@@ -0,0 +1,14 @@
+package org.kindit.hotel.data.room;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record RoomView(
+        Integer id,
+        Integer number,
+        String name,
+        Integer capacity,
+        Integer pricePerNight,
+        String description,
+        String imagePath,
+        @JsonProperty("available") boolean isAvailable
+) {}
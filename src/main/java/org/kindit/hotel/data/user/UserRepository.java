@@ -1,10 +1,25 @@
 package org.kindit.hotel.data.user;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByEmail(String email);
+
+    List<UserView> findAllProjectedByOrderByIdAsc();
+
+    List<UserView> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Integer id);
+
+    @Query("select distinct u.image from User u where u.image is not null and u.image <> ''")
+    Set<String> findAllImages();
 }
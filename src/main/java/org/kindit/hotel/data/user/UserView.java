@@ -0,0 +1,10 @@
+package org.kindit.hotel.data.user;
+
+public record UserView(
+        Integer id,
+        String firstname,
+        String lastname,
+        String email,
+        String image,
+        Role role
+) {}
@@ -2,10 +2,34 @@ package org.kindit.hotel.endpoits;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 @RequiredArgsConstructor
 public abstract class ApiController<T extends ServiceController> {
 
+    protected static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     protected T service;
+
+    /**
+     * Offset pages have no upper size bound, as before the cursor mode existed.
+     */
+    protected final void checkPage(int page, int size) {
+        if (page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Incorrect page");
+        }
+
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be positive");
+        }
+    }
+
+    protected final void checkCursorPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package org.kindit.hotel.endpoits;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    private static final String SEPARATOR = "|";
+
+    private List<T> content;
+    private String nextCursor;
+
+    /**
+     * Builds a page from a seek query that fetched {@code size + 1} rows;
+     * the extra row only tells whether another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, List<?>> cursorKey) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, encode(cursorKey.apply(content.get(size - 1))));
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public static String encode(List<?> parts) {
+        String raw = String.join(SEPARATOR, parts.stream().map(String::valueOf).toList());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        String raw;
+
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+
+        String[] parts = raw.split("\\" + SEPARATOR, -1);
+
+        if (parts.length != expectedParts) {
+            throw invalidCursor();
+        }
+
+        return parts;
+    }
+
+    /**
+     * A cursor comes from the client, so a malformed one is a bad request.
+     */
+    public static ResponseStatusException invalidCursor() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+}
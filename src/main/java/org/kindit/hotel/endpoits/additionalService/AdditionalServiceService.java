@@ -1,6 +1,7 @@
 package org.kindit.hotel.endpoits.additionalService;
 
 import lombok.RequiredArgsConstructor;
+import org.kindit.hotel.config.CatalogCache;
 import org.kindit.hotel.data.additionalService.AdditionalService;
 import org.kindit.hotel.endpoits.ServiceController;
 import org.kindit.hotel.endpoits.additionalService.request.AdditionalServiceRequest;
@@ -13,6 +14,8 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class AdditionalServiceService extends ServiceController {
 
+    private final CatalogCache catalogCache;
+
     public List<AdditionalService> getAll() {
         return repository.getAdditionalServiceRepository().findAll();
     }
@@ -22,13 +25,16 @@ public class AdditionalServiceService extends ServiceController {
     }
 
     public AdditionalService create(AdditionalServiceRequest request) {
-        return repository.getAdditionalServiceRepository().save(
+        AdditionalService saved = repository.getAdditionalServiceRepository().save(
                 AdditionalService.builder()
                         .name(request.getName())
                         .description(request.getDescription())
                         .price(request.getPrice())
                         .build()
         );
+        catalogCache.evictAdditionalService(saved.getId());
+
+        return saved;
     }
 
     public Optional<AdditionalService> refresh(Integer id, AdditionalServiceRequest request) {
@@ -40,7 +46,10 @@ public class AdditionalServiceService extends ServiceController {
                     .price(request.getPrice())
                     .build();
 
-            return repository.getAdditionalServiceRepository().save(updatedService);
+            AdditionalService saved = repository.getAdditionalServiceRepository().save(updatedService);
+            catalogCache.evictAdditionalService(id);
+
+            return saved;
         });
     }
 
@@ -51,13 +60,17 @@ public class AdditionalServiceService extends ServiceController {
             if (request.getDescription() != null) additionalService.setDescription(request.getDescription());
             if (request.getPrice() != null) additionalService.setPrice(request.getPrice());
 
-            return repository.getAdditionalServiceRepository().save(additionalService);
+            AdditionalService saved = repository.getAdditionalServiceRepository().save(additionalService);
+            catalogCache.evictAdditionalService(id);
+
+            return saved;
         });
     }
 
     public boolean delete(Integer id) {
         return repository.getAdditionalServiceRepository().findById(id).map(existing -> {
             repository.getAdditionalServiceRepository().delete(existing);
+            catalogCache.evictAdditionalService(id);
             return true;
         }).orElse(false);
     }
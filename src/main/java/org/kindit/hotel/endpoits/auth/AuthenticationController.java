@@ -3,8 +3,10 @@ package org.kindit.hotel.endpoits.auth;
 import lombok.RequiredArgsConstructor;
 import org.kindit.hotel.endpoits.ApiController;
 import org.kindit.hotel.endpoits.auth.request.AuthenticationRequest;
+import org.kindit.hotel.endpoits.auth.request.RefreshRequest;
 import org.kindit.hotel.endpoits.auth.request.RegisterRequest;
 import org.kindit.hotel.endpoits.auth.response.AuthenticationResponse;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -31,4 +33,19 @@ public class AuthenticationController extends ApiController<AuthenticationServic
     ) {
         return ResponseEntity.ok(service.authenticate(request));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponse> refresh(
+            @RequestBody RefreshRequest request
+    ) {
+        return service.refresh(request)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout() {
+        service.logout();
+        return ResponseEntity.noContent().build();
+    }
 }
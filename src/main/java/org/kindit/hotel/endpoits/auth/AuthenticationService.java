@@ -1,58 +1,155 @@
 package org.kindit.hotel.endpoits.auth;
 
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.kindit.hotel.endpoits.ServiceController;
 import org.kindit.hotel.config.JwtService;
+import org.kindit.hotel.config.LoginExecutor;
+import org.kindit.hotel.config.TokenRevocationRegistry;
+import org.kindit.hotel.config.UserDetailsCache;
 import org.kindit.hotel.endpoits.auth.request.AuthenticationRequest;
+import org.kindit.hotel.data.refreshToken.RefreshToken;
+import org.kindit.hotel.endpoits.auth.request.RefreshRequest;
 import org.kindit.hotel.endpoits.auth.request.RegisterRequest;
 import org.kindit.hotel.endpoits.auth.response.AuthenticationResponse;
 import org.kindit.hotel.data.user.Role;
 import org.kindit.hotel.data.user.User;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService extends ServiceController {
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final LoginExecutor loginExecutor;
+
+    @Value("${hotel.security.jwt.refresh-token-ttl:30d}")
+    private Duration refreshTokenTtl;
 
     public AuthenticationResponse register(RegisterRequest request) {
         var user = User.builder()
                 .firstname(request.getFirstname())
                 .lastname(request.getLastname())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(loginExecutor.run(() -> passwordEncoder.encode(request.getPassword())))
                 .role(Role.USER)
                 .build();
 
         repository.getUserRepository().save(user);
+        userDetailsCache.evict(user.getEmail());
+        tokenRevocationRegistry.update(user.getId(), user.getTokenVersion());
 
-        var jwtToken = jwtService.generateToken(user);
-
-        return AuthenticationResponse.builder()
-                .token(jwtToken)
-                .build();
+        return issueTokens(user, UUID.randomUUID().toString());
     }
 
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
-        authenticationManager.authenticate(
+        loginExecutor.run(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getEmail(),
                         request.getPassword()
                 )
-        );
+        ));
 
         var user = repository.getUserRepository().findByEmail(request.getEmail())
                 .orElseThrow();
-        var jwtToken = jwtService.generateToken(user);
+
+        repository.getRefreshTokenRepository().deleteExpiredByUserId(user.getId(), Instant.now());
+
+        return issueTokens(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * Each refresh token works once; presenting one that was already rotated
+     * revokes every token descended from the same login.
+     */
+    public Optional<AuthenticationResponse> refresh(RefreshRequest request) {
+        if (request.getRefreshToken() == null) {
+            return Optional.empty();
+        }
+
+        RefreshToken stored = repository.getRefreshTokenRepository()
+                .findByTokenHash(hash(request.getRefreshToken()))
+                .orElse(null);
+
+        if (stored == null) {
+            return Optional.empty();
+        }
+
+        if (repository.getRefreshTokenRepository().revoke(stored.getId()) == 0) {
+            repository.getRefreshTokenRepository().revokeFamily(stored.getFamily());
+            return Optional.empty();
+        }
+
+        if (stored.getExpiresAt().isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+
+        return repository.getUserRepository().findById(stored.getUser().getId())
+                .map(user -> issueTokens(user, stored.getFamily()));
+    }
+
+    /**
+     * Revokes every token issued to the current user so far.
+     */
+    public void logout() {
+        User user = repository.getUserRepository().findById(getAuthentifactedUser().getId())
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+
+        user.setTokenVersion(user.getTokenVersion() + 1);
+
+        User saved = repository.getUserRepository().save(user);
+        userDetailsCache.evict(saved.getEmail());
+        tokenRevocationRegistry.update(saved.getId(), saved.getTokenVersion());
+        repository.getRefreshTokenRepository().revokeAllByUserId(saved.getId());
+    }
+
+    private AuthenticationResponse issueTokens(User user, String family) {
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        repository.getRefreshTokenRepository().save(RefreshToken.builder()
+                .tokenHash(hash(refreshToken))
+                .family(family)
+                .user(user)
+                .expiresAt(Instant.now().plus(refreshTokenTtl))
+                .build());
 
         return AuthenticationResponse.builder()
-                .token(jwtToken)
+                .token(jwtService.generateToken(user))
+                .refreshToken(refreshToken)
                 .build();
     }
+
+    // The token is 256 random bits, so a plain digest is enough; no need for a slow password hash.
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -3,15 +3,20 @@ package org.kindit.hotel.endpoits.booking;
 import lombok.RequiredArgsConstructor;
 import org.kindit.hotel.data.booking.Booking;
 import org.kindit.hotel.endpoits.ApiController;
+import org.kindit.hotel.endpoits.CursorPage;
 import org.kindit.hotel.endpoits.booking.request.BookingRequest;
 import org.kindit.hotel.endpoits.booking.request.MyBookingRequest;
+import org.kindit.hotel.endpoits.booking.response.BookingResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/booking")
@@ -22,7 +27,7 @@ public class BookingController extends ApiController<BookingService> {
 
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
-    public ResponseEntity<Page<Booking>> getAllBookings(
+    public ResponseEntity<Page<BookingResponse>> getAllBookings(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String status,
@@ -32,11 +37,32 @@ public class BookingController extends ApiController<BookingService> {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInTo
     ) {
+        checkPage(page, size);
+
         return ResponseEntity.ok(
                 bookingService.getAll(page, size, status, email, firstname, lastname, checkInFrom, checkInTo)
         );
     }
 
+    @GetMapping(value = "/all", params = "cursor")
+    @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
+    public ResponseEntity<CursorPage<BookingResponse>> getAllBookingsByCursor(
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String firstname,
+            @RequestParam(required = false) String lastname,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInTo
+    ) {
+        checkCursorPageSize(size);
+
+        return ResponseEntity.ok(
+                bookingService.getAllByCursor(cursor, size, status, email, firstname, lastname, checkInFrom, checkInTo)
+        );
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
     public ResponseEntity<Booking> getBooking(@PathVariable Integer id) {
@@ -47,18 +73,36 @@ public class BookingController extends ApiController<BookingService> {
 
     @GetMapping("/me/all")
     @PreAuthorize("hasAnyRole('USER', 'MODERATOR', 'ADMIN')")
-    public ResponseEntity<Page<Booking>> getMyBookings(
+    public ResponseEntity<Page<BookingResponse>> getMyBookings(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInTo
     ) {
+        checkPage(page, size);
+
         return ResponseEntity.ok(
                 bookingService.getAllMy(page, size, status, checkInFrom, checkInTo)
         );
     }
 
+    @GetMapping(value = "/me/all", params = "cursor")
+    @PreAuthorize("hasAnyRole('USER', 'MODERATOR', 'ADMIN')")
+    public ResponseEntity<CursorPage<BookingResponse>> getMyBookingsByCursor(
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInTo
+    ) {
+        checkCursorPageSize(size);
+
+        return ResponseEntity.ok(
+                bookingService.getAllMyByCursor(cursor, size, status, checkInFrom, checkInTo)
+        );
+    }
+
     @GetMapping("/me/{id}")
     @PreAuthorize("hasAnyRole('USER', 'MODERATOR', 'ADMIN')")
     public ResponseEntity<Booking> getMyBookings(@PathVariable Integer id) {
@@ -75,6 +119,19 @@ public class BookingController extends ApiController<BookingService> {
                 .orElse(ResponseEntity.badRequest().build());
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
+    public ResponseEntity<List<BookingResponse>> createBookings(@RequestBody List<BookingRequest> requests) {
+        if (requests.size() > BookingService.MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A batch holds at most " + BookingService.MAX_BATCH_SIZE + " bookings");
+        }
+
+        return ResponseEntity.ok(
+                bookingService.createBatch(requests).stream().map(BookingResponse::from).toList()
+        );
+    }
+
     @PostMapping("/me")
     @PreAuthorize("hasAnyRole('USER', 'MODERATOR', 'ADMIN')")
     public ResponseEntity<Booking> createMyBooking(@RequestBody MyBookingRequest request) {
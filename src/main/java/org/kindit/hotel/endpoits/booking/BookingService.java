@@ -4,82 +4,151 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.kindit.hotel.data.additionalService.AdditionalService;
 import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.booking.BookingServiceView;
+import org.kindit.hotel.data.booking.BookingSpecifications;
 import org.kindit.hotel.data.booking.BookingStatus;
+import org.kindit.hotel.data.booking.BookingStay;
+import org.kindit.hotel.data.booking.BookingView;
 import org.kindit.hotel.data.room.Room;
 import org.kindit.hotel.data.user.User;
+import org.kindit.hotel.endpoits.CursorPage;
 import org.kindit.hotel.endpoits.ServiceController;
 import org.kindit.hotel.endpoits.booking.request.BookingRequest;
 import org.kindit.hotel.endpoits.booking.request.MyBookingRequest;
+import org.kindit.hotel.endpoits.booking.response.BookingResponse;
+import org.kindit.hotel.endpoits.room.RoomAvailabilityIndex;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService extends ServiceController {
 
-    public Page<Booking> getAll(
+    // Bounds how many room locks and row locks one batch holds in its transaction.
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private static final Sort MY_BOOKINGS_ORDER = Sort.by("checkInDate").descending().and(Sort.by("id").descending());
+
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomLocks roomLocks;
+    private final TransactionTemplate transactionTemplate;
+
+    public Page<BookingResponse> getAll(
             int page, int size, String status, String email,
             String firstname, String lastname,
             LocalDate checkInFrom, LocalDate checkInTo)
     {
-        List<Booking> bookings;
+        Specification<Booking> specification = filter(status, email, firstname, lastname, checkInFrom, checkInTo);
+
+        Page<Integer> ids = repository.getBookingRepository()
+                .findIds(specification, PageRequest.of(page, size, Sort.by("id")));
+
+        return new PageImpl<>(responses(ids.getContent()), ids.getPageable(), ids.getTotalElements());
+    }
+
+    public CursorPage<BookingResponse> getAllByCursor(
+            String cursor, int size, String status, String email,
+            String firstname, String lastname,
+            LocalDate checkInFrom, LocalDate checkInTo)
+    {
+        Integer afterId = cursor.isEmpty() ? null : parseCursorId(CursorPage.decode(cursor, 1)[0]);
+
+        Specification<Booking> specification = filter(status, email, firstname, lastname, checkInFrom, checkInTo)
+                .and(BookingSpecifications.idAfter(afterId));
+
+        List<Integer> ids = repository.getBookingRepository().findIds(specification, Sort.by("id"), size + 1);
+
+        return CursorPage.of(responses(ids), size, b -> List.of(b.getId()));
+    }
+
+    private Specification<Booking> filter(
+            String status, String email,
+            String firstname, String lastname,
+            LocalDate checkInFrom, LocalDate checkInTo)
+    {
+        BookingStatus parsedStatus = null;
 
         if (status != null) {
             try {
-                BookingStatus parsedStatus = BookingStatus.valueOf(status);
-                bookings = repository.getBookingRepository().findByStatus(parsedStatus, Pageable.unpaged()).getContent();
+                parsedStatus = BookingStatus.valueOf(status);
             } catch (IllegalArgumentException e) {
                 throw new IllegalArgumentException("Invalid booking status");
             }
-        } else {
-            bookings = repository.getBookingRepository().findAll();
         }
 
-        Stream<Booking> stream = bookings.stream();
+        return Specification.where(BookingSpecifications.hasStatus(parsedStatus))
+                .and(BookingSpecifications.userEmailContains(email))
+                .and(BookingSpecifications.userFirstnameContains(firstname))
+                .and(BookingSpecifications.userLastnameContains(lastname))
+                .and(BookingSpecifications.checkInFrom(checkInFrom))
+                .and(BookingSpecifications.checkInTo(checkInTo));
+    }
 
-        if (email != null && !email.isBlank()) {
-            stream = stream.filter(b -> b.getUser().getEmail().toLowerCase().contains(email.toLowerCase()));
-        }
-        if (firstname != null && !firstname.isBlank()) {
-            stream = stream.filter(b -> b.getUser().getFirstname().toLowerCase().contains(firstname.toLowerCase()));
-        }
-        if (lastname != null && !lastname.isBlank()) {
-            stream = stream.filter(b -> b.getUser().getLastname().toLowerCase().contains(lastname.toLowerCase()));
-        }
-        if (checkInFrom != null) {
-            stream = stream.filter(b -> !b.getCheckInDate().isBefore(checkInFrom));
-        }
-        if (checkInTo != null) {
-            stream = stream.filter(b -> !b.getCheckInDate().isAfter(checkInTo));
-        }
+    public Optional<Booking> get(Integer id) {
+        return repository.getBookingRepository().findById(id);
+    }
 
-        List<Booking> filtered = stream.toList();
+    public Page<BookingResponse> getAllMy(int page, int size, String statusStr, LocalDate checkInFrom, LocalDate checkInTo) {
+        Pageable pageable = PageRequest.of(page, size, MY_BOOKINGS_ORDER);
 
-        int start = page * size;
-        int end = Math.min(start + size, filtered.size());
-        List<Booking> paged = (start <= end) ? filtered.subList(start, end) : List.of();
+        Page<Integer> ids = repository.getBookingRepository()
+                .findIds(myFilter(statusStr, checkInFrom, checkInTo), pageable);
 
-        return new PageImpl<>(paged, PageRequest.of(page, size), filtered.size());
+        return new PageImpl<>(responses(ids.getContent()), ids.getPageable(), ids.getTotalElements());
     }
 
+    public CursorPage<BookingResponse> getAllMyByCursor(
+            String cursor, int size, String statusStr,
+            LocalDate checkInFrom, LocalDate checkInTo)
+    {
+        Specification<Booking> specification = myFilter(statusStr, checkInFrom, checkInTo);
 
-    public Optional<Booking> get(Integer id) {
-        return repository.getBookingRepository().findById(id);
+        if (!cursor.isEmpty()) {
+            String[] parts = CursorPage.decode(cursor, 2);
+            specification = specification.and(BookingSpecifications.checkInBefore(
+                    parseCursorDate(parts[0]), parseCursorId(parts[1])));
+        }
+
+        List<Integer> ids = repository.getBookingRepository().findIds(specification, MY_BOOKINGS_ORDER, size + 1);
+
+        return CursorPage.of(responses(ids), size, b -> List.of(b.getCheckInDate(), b.getId()));
     }
 
-    public Page<Booking> getAllMy(int page, int size, String statusStr, LocalDate checkInFrom, LocalDate checkInTo) {
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        Pageable pageable = PageRequest.of(page, size, Sort.by("checkInDate").descending());
+    /**
+     * Selects the listed bookings as flat rows plus one query for their
+     * services, keeping the order of the id page. No entity is loaded.
+     */
+    private List<BookingResponse> responses(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, BookingView> views = repository.getBookingRepository().findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(BookingView::id, Function.identity()));
 
-        Page<Booking> allBookings = repository.getBookingRepository().findByUserId(Long.valueOf(user.getId()), pageable);
+        Map<Integer, List<BookingResponse.ServiceSummary>> services = repository.getBookingRepository()
+                .findServicesByBookingIdIn(ids).stream()
+                .collect(Collectors.groupingBy(BookingServiceView::bookingId, Collectors.mapping(
+                        s -> new BookingResponse.ServiceSummary(s.id(), s.name(), s.price()),
+                        Collectors.toList())));
+
+        return ids.stream()
+                .map(id -> BookingResponse.from(views.get(id), services.getOrDefault(id, List.of())))
+                .toList();
+    }
+
+    private Specification<Booking> myFilter(String statusStr, LocalDate checkInFrom, LocalDate checkInTo) {
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
         final BookingStatus status;
         try {
@@ -88,17 +157,26 @@ public class BookingService extends ServiceController {
             throw new IllegalArgumentException("Invalid booking status: " + statusStr);
         }
 
-        List<Booking> filtered = allBookings.stream()
-                .filter(b -> status == null || b.getStatus() == status)
-                .filter(b -> checkInFrom == null || !b.getCheckInDate().isBefore(checkInFrom))
-                .filter(b -> checkInTo == null || !b.getCheckInDate().isAfter(checkInTo))
-                .collect(Collectors.toList());
+        return Specification.where(BookingSpecifications.belongsTo(user.getId()))
+                .and(BookingSpecifications.hasStatus(status))
+                .and(BookingSpecifications.checkInFrom(checkInFrom))
+                .and(BookingSpecifications.checkInTo(checkInTo));
+    }
 
-        int start = Math.min(page * size, filtered.size());
-        int end = Math.min(start + size, filtered.size());
-        List<Booking> pageContent = filtered.subList(start, end);
+    private Integer parseCursorId(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw CursorPage.invalidCursor();
+        }
+    }
 
-        return new PageImpl<>(pageContent, pageable, filtered.size());
+    private LocalDate parseCursorDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw CursorPage.invalidCursor();
+        }
     }
 
     public Optional<Booking> getMy(Integer id) {
@@ -119,157 +197,254 @@ public class BookingService extends ServiceController {
         User user = repository.getUserRepository().findById(request.getUserId())
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
-        Room room = repository.getRoomRepository().findById(request.getRoomId())
-                .orElseThrow(() -> new EntityNotFoundException("Room not found"));
-
-        List<BookingStatus> activeStatuses = List.of(
-                BookingStatus.PENDING,
-                BookingStatus.CONFIRMED,
-                BookingStatus.CHECKED_IN
-        );
-
-        List<Booking> existingBookings = repository.getBookingRepository()
-                .findByRoomIdAndStatusIn(room.getId(), activeStatuses);
+        return Optional.of(admit(
+                user,
+                request.getRoomId(),
+                request.getCheckInDate(),
+                request.getCheckOutDate(),
+                request.getAdditionalServiceIds()
+        ));
+    }
 
-        boolean isOverlapping = existingBookings.stream().anyMatch(b ->
-                !request.getCheckInDate().isAfter(b.getCheckOutDate()) &&
-                        !request.getCheckOutDate().isBefore(b.getCheckInDate())
-        );
+    public Optional<Booking> createMy(MyBookingRequest request) {
+        LocalDate today = LocalDate.now();
 
-        if (isOverlapping) {
-            throw new IllegalStateException("Room is already booked for the selected dates");
+        if (request.getCheckInDate().isBefore(today) || request.getCheckOutDate().isBefore(today)) {
+            throw new IllegalArgumentException("Cannot book for past dates");
         }
 
-        List<AdditionalService> services = repository.getAdditionalServiceRepository()
-                .findAllById(request.getAdditionalServiceIds());
+        if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+            throw new IllegalArgumentException("The departure date must be at least 1 day after the arrival date.");
+        }
 
-        int totalPrice = room.getPricePerNight() *
-                (int) ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate());
+        User thisUser = repository.getUserRepository().findById(getAuthentifactedUser().getId())
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
-        int additionalServicesPrice = services.stream()
-                .mapToInt(AdditionalService::getPrice)
-                .sum();
+        return Optional.of(admit(
+                thisUser,
+                request.getRoomId(),
+                request.getCheckInDate(),
+                request.getCheckOutDate(),
+                request.getAdditionalServiceIds()
+        ));
+    }
 
-        Booking booking = Booking.builder()
-                .user(user)
-                .room(room)
-                .checkInDate(request.getCheckInDate())
-                .checkOutDate(request.getCheckOutDate())
-                .additionalServices(services)
-                .status(BookingStatus.PENDING)
-                .totalPrice(totalPrice + additionalServicesPrice)
-                .build();
+    /**
+     * Admits a whole group of bookings or none of them. Everything the lines
+     * reference is loaded with one query per table, overlaps are checked against
+     * a single range query over all rooms involved, and the rows go out as one
+     * JDBC batch inside one transaction.
+     */
+    public List<Booking> createBatch(List<BookingRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one booking is required");
+        }
 
-        return Optional.of(repository.getBookingRepository().save(booking));
-    }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch holds at most " + MAX_BATCH_SIZE + " bookings");
+        }
 
-    public Optional<Booking> createMy(MyBookingRequest request) {
         LocalDate today = LocalDate.now();
+        Set<Integer> userIds = new HashSet<>();
+        Set<Integer> roomIds = new TreeSet<>();
+        Set<Integer> serviceIds = new HashSet<>();
+
+        for (BookingRequest request : requests) {
+            if (request.getUserId() == null || request.getRoomId() == null
+                    || request.getCheckInDate() == null || request.getCheckOutDate() == null) {
+                throw new IllegalArgumentException("Each booking needs a user, a room and both dates");
+            }
 
-        if (request.getCheckInDate().isBefore(today) || request.getCheckOutDate().isBefore(today)) {
-            throw new IllegalArgumentException("Cannot book for past dates");
+            if (request.getCheckInDate().isBefore(today) || request.getCheckOutDate().isBefore(today)) {
+                throw new IllegalArgumentException("Cannot book for past dates");
+            }
+
+            if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+                throw new IllegalArgumentException("The departure date must be at least 1 day after the arrival date");
+            }
+
+            userIds.add(request.getUserId());
+            roomIds.add(request.getRoomId());
+            if (request.getAdditionalServiceIds() != null) {
+                serviceIds.addAll(request.getAdditionalServiceIds());
+            }
         }
 
-        if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
-            throw new IllegalArgumentException("The departure date must be at least 1 day after the arrival date.");
+        Map<Integer, User> users = repository.getUserRepository().findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        if (users.size() != userIds.size()) {
+            throw new EntityNotFoundException("User not found");
         }
 
-        User thisUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Map<Integer, AdditionalService> services = repository.getAdditionalServiceRepository().findAllById(serviceIds).stream()
+                .collect(Collectors.toMap(AdditionalService::getId, Function.identity()));
 
-        Room room = repository.getRoomRepository().findById(request.getRoomId())
-                .orElseThrow(() -> new EntityNotFoundException("Room not found"));
+        LocalDate from = requests.stream().map(BookingRequest::getCheckInDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = requests.stream().map(BookingRequest::getCheckOutDate).max(LocalDate::compareTo).orElseThrow();
 
-        List<BookingStatus> activeStatuses = List.of(
-                BookingStatus.PENDING,
-                BookingStatus.CONFIRMED,
-                BookingStatus.CHECKED_IN
-        );
+        return roomLocks.withLocks(roomIds, () ->
+            transactionTemplate.execute(status -> {
+                Map<Integer, Room> rooms = repository.getRoomRepository().findAllByIdForUpdate(roomIds).stream()
+                        .collect(Collectors.toMap(Room::getId, Function.identity()));
+
+                if (rooms.size() != roomIds.size()) {
+                    throw new EntityNotFoundException("Room not found");
+                }
+
+                Map<Integer, List<BookingStay>> taken = repository.getBookingRepository()
+                        .findStaysOverlapping(roomIds, BookingStatus.ACTIVE, from, to).stream()
+                        .collect(Collectors.groupingBy(BookingStay::roomId));
+
+                List<Booking> bookings = new ArrayList<>(requests.size());
+
+                for (BookingRequest request : requests) {
+                    List<BookingStay> stays = taken.computeIfAbsent(request.getRoomId(), id -> new ArrayList<>());
+
+                    boolean isOverlapping = stays.stream().anyMatch(b ->
+                            !request.getCheckInDate().isAfter(b.checkOutDate()) &&
+                                    !request.getCheckOutDate().isBefore(b.checkInDate()));
+
+                    if (isOverlapping) {
+                        throw new IllegalStateException(
+                                "Room " + request.getRoomId() + " is already booked for the selected dates");
+                    }
+
+                    stays.add(new BookingStay(null, request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate()));
+
+                    Room room = rooms.get(request.getRoomId());
+                    List<AdditionalService> lineServices = request.getAdditionalServiceIds() == null
+                            ? List.of()
+                            : request.getAdditionalServiceIds().stream()
+                                    .map(services::get)
+                                    .filter(Objects::nonNull)
+                                    .toList();
+
+                    int totalPrice = room.getPricePerNight() *
+                            (int) ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate());
+
+                    int additionalServicesPrice = lineServices.stream()
+                            .mapToInt(AdditionalService::getPrice)
+                            .sum();
+
+                    bookings.add(Booking.builder()
+                            .user(users.get(request.getUserId()))
+                            .room(room)
+                            .checkInDate(request.getCheckInDate())
+                            .checkOutDate(request.getCheckOutDate())
+                            .additionalServices(new ArrayList<>(lineServices))
+                            .status(BookingStatus.PENDING)
+                            .totalPrice(totalPrice + additionalServicesPrice)
+                            .build());
+                }
 
-        List<Booking> existingBookings = repository.getBookingRepository()
-                .findByRoomIdAndStatusIn(room.getId(), activeStatuses);
+                List<Booking> saved = repository.getBookingRepository().saveAll(bookings);
+                saved.forEach(availabilityIndex::update);
 
-        boolean isOverlapping = existingBookings.stream().anyMatch(b ->
-                !request.getCheckInDate().isAfter(b.getCheckOutDate()) &&
-                        !request.getCheckOutDate().isBefore(b.getCheckInDate())
+                return saved;
+            })
         );
+    }
 
-        if (isOverlapping) {
-            throw new IllegalStateException("Room is already booked for the selected dates");
-        }
+    private Booking admit(
+            User user, Integer roomId,
+            LocalDate checkInDate, LocalDate checkOutDate,
+            List<Integer> additionalServiceIds)
+    {
+        return roomLocks.withLock(roomId, () ->
+            transactionTemplate.execute(status -> {
+                Room room = repository.getRoomRepository().findByIdForUpdate(roomId)
+                        .orElseThrow(() -> new EntityNotFoundException("Room not found"));
+
+                boolean isOverlapping = repository.getBookingRepository()
+                        .existsByRoomIdAndStatusInAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqual(
+                                room.getId(), BookingStatus.ACTIVE, checkOutDate, checkInDate);
 
-        List<AdditionalService> services = repository.getAdditionalServiceRepository()
-                .findAllById(request.getAdditionalServiceIds());
+                if (isOverlapping) {
+                    throw new IllegalStateException("Room is already booked for the selected dates");
+                }
 
-        int totalPrice = room.getPricePerNight() *
-                (int) ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate());
+                List<AdditionalService> services = repository.getAdditionalServiceRepository()
+                        .findAllById(additionalServiceIds);
 
-        int additionalServicesPrice = services.stream()
-                .mapToInt(AdditionalService::getPrice)
-                .sum();
+                int totalPrice = room.getPricePerNight() *
+                        (int) ChronoUnit.DAYS.between(checkInDate, checkOutDate);
 
-        Booking booking = Booking.builder()
-                .user(thisUser)
-                .room(room)
-                .checkInDate(request.getCheckInDate())
-                .checkOutDate(request.getCheckOutDate())
-                .additionalServices(services)
-                .status(BookingStatus.PENDING)
-                .totalPrice(totalPrice + additionalServicesPrice)
-                .build();
+                int additionalServicesPrice = services.stream()
+                        .mapToInt(AdditionalService::getPrice)
+                        .sum();
 
-        return Optional.of(repository.getBookingRepository().save(booking));
+                Booking booking = Booking.builder()
+                        .user(user)
+                        .room(room)
+                        .checkInDate(checkInDate)
+                        .checkOutDate(checkOutDate)
+                        .additionalServices(services)
+                        .status(BookingStatus.PENDING)
+                        .totalPrice(totalPrice + additionalServicesPrice)
+                        .build();
+
+                Booking saved = repository.getBookingRepository().save(booking);
+                availabilityIndex.update(saved);
+
+                return saved;
+            })
+        );
     }
 
     public Optional<Booking> refresh(Integer id, BookingRequest request) {
         User user = repository.getUserRepository().findById(request.getUserId())
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
-        Room room = repository.getRoomRepository().findById(request.getRoomId())
-                .orElseThrow(() -> new EntityNotFoundException("Room not found"));
+        if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+            throw new IllegalArgumentException("The departure date must be at least 1 day after the arrival date");
+        }
 
-        List<Booking> existingBookings = repository.getBookingRepository()
-                .findByRoomId(room.getId());
+        BookingStatus status = request.getStatus() != null ? request.getStatus() : BookingStatus.PENDING;
 
-        boolean isOverlapping = existingBookings.stream().anyMatch(b ->
-                ( !request.getCheckInDate().isAfter(b.getCheckOutDate()) &&
-                        !request.getCheckOutDate().isBefore(b.getCheckInDate()) )
-        );
+        return changeBooking(id, request.getRoomId(), booking -> {
+            Room room = repository.getRoomRepository().findByIdForUpdate(request.getRoomId())
+                    .orElseThrow(() -> new EntityNotFoundException("Room not found"));
 
-        if (isOverlapping) {
-            throw new IllegalStateException("Room is already booked for the selected dates");
-        }
+            if (status.isActive()) {
+                checkRoomIsFree(booking, room, request.getCheckInDate(), request.getCheckOutDate());
+            }
 
-        room.setAvailable(false);
-        repository.getRoomRepository().save(room);
+            List<AdditionalService> services = repository.getAdditionalServiceRepository()
+                    .findAllById(request.getAdditionalServiceIds());
 
-        List<AdditionalService> services = repository.getAdditionalServiceRepository()
-                .findAllById(request.getAdditionalServiceIds());
+            int totalPrice = room.getPricePerNight() *
+                    (int) ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate());
 
-        int totalPrice = room.getPricePerNight() *
-                (int) ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate());
+            int additionalServicesPrice = services.stream()
+                    .mapToInt(AdditionalService::getPrice)
+                    .sum();
 
-        int additionalServicesPrice = services.stream()
-                .mapToInt(AdditionalService::getPrice)
-                .sum();
+            if (booking.getRoom() != null) {
+                booking.getRoom().setAvailable(true);
+                repository.getRoomRepository().save(booking.getRoom());
+            }
 
-        return repository.getBookingRepository().findById(id).map(booking -> {
-            booking.getRoom().setAvailable(true);
-            repository.getRoomRepository().save(booking.getRoom());
+            room.setAvailable(false);
+            repository.getRoomRepository().save(room);
 
             booking.setUser(user);
             booking.setRoom(room);
             booking.setCheckInDate(request.getCheckInDate());
             booking.setCheckOutDate(request.getCheckOutDate());
             booking.setAdditionalServices(services);
-            booking.setStatus(request.getStatus() != null ? request.getStatus() : BookingStatus.PENDING);
+            booking.setStatus(status);
             booking.setTotalPrice(totalPrice + additionalServicesPrice);
 
-            return repository.getBookingRepository().save(booking);
+            Booking saved = repository.getBookingRepository().save(booking);
+            availabilityIndex.update(saved);
+
+            return Optional.of(saved);
         });
     }
 
     public Optional<Booking> update(Integer id, BookingRequest request) {
-        return repository.getBookingRepository().findById(id).map(booking -> {
+        return changeBooking(id, request.getRoomId(), booking -> {
 
             if (request.getUserId() != null) {
                 User user = repository.getUserRepository().findById(request.getUserId())
@@ -277,32 +452,35 @@ public class BookingService extends ServiceController {
                 booking.setUser(user);
             }
 
-            if (request.getRoomId() != null) {
-                Room newRoom = repository.getRoomRepository().findById(request.getRoomId())
-                        .orElseThrow(() -> new EntityNotFoundException("Room not found"));
+            LocalDate checkIn = request.getCheckInDate() != null ? request.getCheckInDate() : booking.getCheckInDate();
+            LocalDate checkOut = request.getCheckOutDate() != null ? request.getCheckOutDate() : booking.getCheckOutDate();
+            BookingStatus status = request.getStatus() != null ? request.getStatus() : booking.getStatus();
 
-                List<Booking> existingBookings = repository.getBookingRepository()
-                        .findByRoomId(newRoom.getId());
+            if (checkIn != null && checkOut != null && !checkOut.isAfter(checkIn)) {
+                throw new IllegalArgumentException("The departure date must be at least 1 day after the arrival date");
+            }
 
-                boolean isOverlapping = existingBookings.stream().anyMatch(b ->
-                        ( !request.getCheckInDate().isAfter(b.getCheckOutDate()) &&
-                                !request.getCheckOutDate().isBefore(b.getCheckInDate()) )
-                );
+            Room currentRoom = booking.getRoom();
+            Integer roomId = request.getRoomId() != null ? request.getRoomId()
+                    : currentRoom != null ? currentRoom.getId() : null;
 
-                if (isOverlapping) {
-                    throw new IllegalStateException("Room is already booked for the selected dates");
+            if (roomId != null) {
+                Room newRoom = repository.getRoomRepository().findByIdForUpdate(roomId)
+                        .orElseThrow(() -> new EntityNotFoundException("Room not found"));
+
+                if (status != null && status.isActive() && checkIn != null && checkOut != null) {
+                    checkRoomIsFree(booking, newRoom, checkIn, checkOut);
                 }
 
-                Room currentRoom = booking.getRoom();
                 if (currentRoom != null && !currentRoom.getId().equals(newRoom.getId())) {
                     currentRoom.setAvailable(true);
                     repository.getRoomRepository().save(currentRoom);
 
                     newRoom.setAvailable(false);
                     repository.getRoomRepository().save(newRoom);
-
-                    booking.setRoom(newRoom);
                 }
+
+                booking.setRoom(newRoom);
             }
 
             if (request.getAdditionalServiceIds() != null) {
@@ -311,8 +489,8 @@ public class BookingService extends ServiceController {
                 booking.setAdditionalServices(services);
             }
 
-            if (request.getCheckInDate() != null) booking.setCheckInDate(request.getCheckInDate());
-            if (request.getCheckOutDate() != null) booking.setCheckOutDate(request.getCheckOutDate());
+            booking.setCheckInDate(checkIn);
+            booking.setCheckOutDate(checkOut);
 
             if (booking.getRoom() != null && booking.getCheckInDate() != null && booking.getCheckOutDate() != null) {
                 int totalPrice = booking.getRoom().getPricePerNight() *
@@ -325,63 +503,113 @@ public class BookingService extends ServiceController {
                 booking.setTotalPrice(totalPrice + additionalServicesPrice);
             }
 
-            if (request.getStatus() != null) {
-                booking.setStatus(request.getStatus());
-            }
+            booking.setStatus(status);
+
+            Booking saved = repository.getBookingRepository().save(booking);
+            availabilityIndex.update(saved);
 
-            return repository.getBookingRepository().save(booking);
+            return Optional.of(saved);
         });
     }
 
+    /**
+     * The admission check for an edited booking: the room row is already locked,
+     * and only other active bookings count, so a booking never blocks itself.
+     */
+    private void checkRoomIsFree(Booking booking, Room room, LocalDate checkIn, LocalDate checkOut) {
+        boolean isOverlapping = repository.getBookingRepository()
+                .existsByRoomIdAndStatusInAndIdNotAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqual(
+                        room.getId(), BookingStatus.ACTIVE, booking.getId(), checkOut, checkIn);
+
+        if (isOverlapping) {
+            throw new IllegalStateException("Room is already booked for the selected dates");
+        }
+    }
+
     public Optional<Booking> cancel(Integer bookingId) {
-        return repository.getBookingRepository().findById(bookingId).map(booking -> {
-            if (booking.getStatus() == BookingStatus.CANCELLED) {
-                return booking; // уже отменено
-            }
-            booking.setStatus(BookingStatus.CANCELLED);
-            booking.getRoom().setAvailable(true);
-            repository.getRoomRepository().save(booking.getRoom());
-            return repository.getBookingRepository().save(booking);
-        });
+        return changeBooking(bookingId, null, booking -> Optional.of(cancelled(booking)));
     }
 
     public Optional<Booking> cancelMy(Integer bookingId) {
         User currentUser = getAuthentifactedUser();
 
-        return repository.getBookingRepository()
-                .findByIdAndUserId(bookingId, currentUser.getId())
-                .map(booking -> {
-                    if (booking.getStatus() == BookingStatus.CANCELLED) {
-                        return booking; // уже отменено
-                    }
-                    booking.setStatus(BookingStatus.CANCELLED);
-                    booking.getRoom().setAvailable(true);
-                    repository.getRoomRepository().save(booking.getRoom());
-                    return repository.getBookingRepository().save(booking);
-                });
+        return changeBooking(bookingId, null, booking -> Optional.of(booking)
+                .filter(b -> b.getUser().getId().equals(currentUser.getId()))
+                .map(this::cancelled));
+    }
+
+    private Booking cancelled(Booking booking) {
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            return booking; // уже отменено
+        }
+        booking.setStatus(BookingStatus.CANCELLED);
+        booking.getRoom().setAvailable(true);
+        repository.getRoomRepository().save(booking.getRoom());
+        Booking saved = repository.getBookingRepository().save(booking);
+        availabilityIndex.remove(saved.getId());
+        return saved;
     }
 
     public Optional<Booking> pay(Integer bookingId) {
         User user = getAuthentifactedUser();
 
-        return repository.getBookingRepository().findById(bookingId)
+        return changeBooking(bookingId, null, booking -> Optional.of(booking)
                 .filter(b -> b.getUser().getId().equals(user.getId()))
-                .map(booking -> {
-                    if (booking.getStatus() == BookingStatus.PENDING) {
-                        booking.setStatus(BookingStatus.CONFIRMED);
-                        return repository.getBookingRepository().save(booking);
+                .map(b -> {
+                    if (b.getStatus() == BookingStatus.PENDING) {
+                        b.setStatus(BookingStatus.CONFIRMED);
+                        return repository.getBookingRepository().save(b);
                     }
-                    return booking; // не меняем, если уже оплачен или отменён
-                });
+                    return b; // не меняем, если уже оплачен или отменён
+                }));
     }
 
     public void delete(Integer id) {
-        Booking booking = repository.getBookingRepository().findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Booking not found"));
+        changeBooking(id, null, booking -> {
+            booking.getRoom().setAvailable(true);
+            repository.getRoomRepository().save(booking.getRoom());
 
-        booking.getRoom().setAvailable(true);
-        repository.getRoomRepository().save(booking.getRoom());
+            repository.getBookingRepository().delete(booking);
+            availabilityIndex.remove(id);
 
-        repository.getBookingRepository().delete(booking);
+            return Optional.of(booking);
+        }).orElseThrow(() -> new EntityNotFoundException("Booking not found"));
+    }
+
+    /**
+     * Applies a change to an existing booking in one transaction, holding the
+     * lock of the room it is in and of the room it moves to. Every change to a
+     * booking therefore takes its room's lock, so changes to the same booking
+     * commit, and reach the availability index, one at a time and in order. A
+     * booking moved to another room before the lock was taken is looked up again.
+     */
+    private <T> Optional<T> changeBooking(Integer bookingId, Integer targetRoomId, Function<Booking, Optional<T>> change) {
+        while (true) {
+            Set<Integer> roomIds = new TreeSet<>();
+            repository.getBookingRepository().findRoomIdById(bookingId).ifPresent(roomIds::add);
+            if (targetRoomId != null) {
+                roomIds.add(targetRoomId);
+            }
+
+            Optional<T> result = roomLocks.withLocks(roomIds, () ->
+                transactionTemplate.execute(status -> {
+                    Booking booking = repository.getBookingRepository().findById(bookingId).orElse(null);
+
+                    if (booking == null) {
+                        return Optional.<T>empty();
+                    }
+
+                    if (booking.getRoom() != null && !roomIds.contains(booking.getRoom().getId())) {
+                        return null; // moved meanwhile, lock its new room instead
+                    }
+
+                    return change.apply(booking);
+                })
+            );
+
+            if (result != null) {
+                return result;
+            }
+        }
     }
 }
@@ -0,0 +1,74 @@
+package org.kindit.hotel.endpoits.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process locks keyed by room id. Bookings for different rooms
+ * proceed in parallel; the database row lock on the room covers other instances.
+ */
+@Component
+public class RoomLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public RoomLocks(@Value("${hotel.booking.lock-stripes:64}") int stripes) {
+        this.stripes = new ReentrantLock[stripes];
+
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(Integer roomId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(roomId);
+        lock.lock();
+
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Locks every stripe the rooms map to, always in ascending stripe order,
+     * so two batches over overlapping rooms cannot deadlock each other.
+     */
+    public <T> T withLocks(Collection<Integer> roomIds, Supplier<T> action) {
+        SortedSet<Integer> indexes = new TreeSet<>();
+        for (Integer roomId : roomIds) {
+            indexes.add(stripeIndex(roomId));
+        }
+
+        Deque<ReentrantLock> acquired = new ArrayDeque<>();
+        try {
+            for (Integer index : indexes) {
+                stripes[index].lock();
+                acquired.push(stripes[index]);
+            }
+
+            return action.get();
+        } finally {
+            while (!acquired.isEmpty()) {
+                acquired.pop().unlock();
+            }
+        }
+    }
+
+    private ReentrantLock stripeFor(Integer roomId) {
+        return stripes[stripeIndex(roomId)];
+    }
+
+    private int stripeIndex(Integer roomId) {
+        return Math.floorMod(roomId.hashCode(), stripes.length);
+    }
+}
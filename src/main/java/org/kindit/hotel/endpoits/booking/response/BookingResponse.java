@@ -0,0 +1,74 @@
+package org.kindit.hotel.endpoits.booking.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.booking.BookingStatus;
+import org.kindit.hotel.data.booking.BookingView;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingResponse {
+
+    private Integer id;
+    private UserSummary user;
+    private RoomSummary room;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private List<ServiceSummary> additionalServices;
+    private BookingStatus status;
+    private Integer totalPrice;
+
+    public static BookingResponse from(Booking booking) {
+        return BookingResponse.builder()
+                .id(booking.getId())
+                .user(booking.getUser() == null ? null : new UserSummary(
+                        booking.getUser().getId(),
+                        booking.getUser().getFirstname(),
+                        booking.getUser().getLastname(),
+                        booking.getUser().getEmail()
+                ))
+                .room(booking.getRoom() == null ? null : new RoomSummary(
+                        booking.getRoom().getId(),
+                        booking.getRoom().getNumber(),
+                        booking.getRoom().getName(),
+                        booking.getRoom().getPricePerNight()
+                ))
+                .checkInDate(booking.getCheckInDate())
+                .checkOutDate(booking.getCheckOutDate())
+                .additionalServices(booking.getAdditionalServices() == null ? List.of() : booking.getAdditionalServices().stream()
+                        .map(s -> new ServiceSummary(s.getId(), s.getName(), s.getPrice()))
+                        .toList())
+                .status(booking.getStatus())
+                .totalPrice(booking.getTotalPrice())
+                .build();
+    }
+
+    public static BookingResponse from(BookingView view, List<ServiceSummary> additionalServices) {
+        return BookingResponse.builder()
+                .id(view.id())
+                .user(view.userId() == null ? null : new UserSummary(
+                        view.userId(), view.firstname(), view.lastname(), view.email()))
+                .room(view.roomId() == null ? null : new RoomSummary(
+                        view.roomId(), view.roomNumber(), view.roomName(), view.roomPricePerNight()))
+                .checkInDate(view.checkInDate())
+                .checkOutDate(view.checkOutDate())
+                .additionalServices(additionalServices)
+                .status(view.status())
+                .totalPrice(view.totalPrice())
+                .build();
+    }
+
+    public record UserSummary(Integer id, String firstname, String lastname, String email) {}
+
+    public record RoomSummary(Integer id, Integer number, String name, Integer pricePerNight) {}
+
+    public record ServiceSummary(Integer id, String name, Integer price) {}
+}
@@ -0,0 +1,120 @@
+package org.kindit.hotel.endpoits.image;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Bodies of frequently served images, held in direct buffers so they stay off
+ * the GC heap. Eviction is LRU-like within a byte budget; files larger than the
+ * per-entry limit are never cached and keep going through sendfile. A file is
+ * only read into memory on its second miss, so images requested once never
+ * allocate direct memory that would sit unused until the next GC. Stored
+ * files do not change under the same name, so entries are only dropped when
+ * the store writes or deletes the file.
+ */
+@Component
+public class ImageCache {
+
+    // Paths that missed once; only these are worth a direct buffer on the next miss.
+    private static final int MAX_CANDIDATES = 10_000;
+
+    private final Cache<Path, CachedImage> cache;
+    private final Cache<Path, Boolean> candidates = Caffeine.newBuilder()
+            .maximumSize(MAX_CANDIDATES)
+            .build();
+    private final long maxEntryBytes;
+
+    public ImageCache(
+            @Value("${hotel.images.cache.max-size:64MB}") DataSize maxSize,
+            @Value("${hotel.images.cache.max-entry-size:2MB}") DataSize maxEntrySize,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxEntryBytes = Math.min(maxEntrySize.toBytes(), maxSize.toBytes());
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Path path, CachedImage image) -> image.body().capacity())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "images");
+        Gauge.builder("images.cache.bytes", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .description("Bytes held by the image cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    CachedImage get(Path file) {
+        return cache.getIfPresent(file);
+    }
+
+    /**
+     * Caches {@code file} on its second miss and returns it, or returns null when
+     * the file is seen for the first time, too large, or changed size while being
+     * read; the caller then streams it from disk. Concurrent misses on the same
+     * file share one read.
+     */
+    CachedImage load(Path file, ImageHandler.ImageMetadata metadata) throws IOException {
+        if (metadata.size() > maxEntryBytes || candidates.asMap().putIfAbsent(file, Boolean.TRUE) == null) {
+            return null;
+        }
+
+        CachedImage image;
+
+        try {
+            // compute rather than get(key, loader): the caller's lookup already counted the miss.
+            image = cache.asMap().compute(file, (path, present) -> present != null ? present : read(path, metadata));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (image != null) {
+            candidates.invalidate(file);
+        }
+
+        return image;
+    }
+
+    private static CachedImage read(Path file, ImageHandler.ImageMetadata metadata) {
+        ByteBuffer body = ByteBuffer.allocateDirect((int) metadata.size());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (body.hasRemaining()) {
+                if (channel.read(body) < 0) {
+                    break;
+                }
+            }
+
+            if (body.hasRemaining() || channel.size() != metadata.size()) {
+                return null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new CachedImage(metadata, body.flip().asReadOnlyBuffer());
+    }
+
+    public void evict(Path file) {
+        Path key = file.toAbsolutePath().normalize();
+
+        cache.invalidate(key);
+        candidates.invalidate(key);
+    }
+
+    record CachedImage(ImageHandler.ImageMetadata metadata, ByteBuffer body) {}
+}
@@ -0,0 +1,202 @@
+package org.kindit.hotel.endpoits.image;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves uploaded images. Stored files are never rewritten under the same name,
+ * so they are sent with a strong content-hash ETag and a one-year immutable
+ * Cache-Control. Supports conditional requests and a single byte range, and
+ * answers hot images from {@link ImageCache}; everything else goes to Tomcat's
+ * sendfile when the connector offers it.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageHandler {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Hashing a file is the expensive part, so it is done once per (path, mtime, size).
+    private final Map<Path, ImageMetadata> metadata = new ConcurrentHashMap<>();
+
+    private final ImageCache imageCache;
+
+    public void serve(Path directory, String filename, HttpServletRequest request, HttpServletResponse response)
+            throws IOException
+    {
+        Path root = directory.toAbsolutePath().normalize();
+        Path file = root.resolve(filename).normalize();
+
+        if (!file.startsWith(root)) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        ImageCache.CachedImage cached = imageCache.get(file);
+        ImageMetadata image;
+
+        if (cached != null) {
+            image = cached.metadata();
+        } else if (Files.isRegularFile(file)) {
+            image = metadataFor(file);
+            cached = imageCache.load(file, image);
+        } else {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (new ServletWebRequest(request, response).checkNotModified(image.etag(), image.lastModified())) {
+            return;
+        }
+
+        response.setContentType(image.contentType());
+
+        long start = 0;
+        long end = image.size() - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(image.etag()))) {
+            List<HttpRange> ranges;
+
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+
+            // Multiple ranges would need a multipart body; answering with the whole file is allowed.
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+
+                if (image.size() == 0 || range.getRangeStart(image.size()) >= image.size()) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + image.size());
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+
+                start = range.getRangeStart(image.size());
+                end = range.getRangeEnd(image.size());
+
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + image.size());
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (cached != null) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            ByteBuffer body = cached.body().duplicate().limit((int) end + 1).position((int) start);
+
+            while (body.hasRemaining()) {
+                out.write(body);
+            }
+
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
+
+    public void evict(Path file) {
+        metadata.remove(file.toAbsolutePath().normalize());
+        imageCache.evict(file);
+    }
+
+    private ImageMetadata metadataFor(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+
+        ImageMetadata cached = metadata.get(file);
+
+        if (cached != null && cached.lastModified() == lastModified && cached.size() == size) {
+            return cached;
+        }
+
+        String contentType = Files.probeContentType(file);
+
+        ImageMetadata fresh = new ImageMetadata(
+                "\"" + sha256(file) + "\"",
+                contentType != null ? contentType : "application/octet-stream",
+                lastModified,
+                size
+        );
+
+        metadata.put(file, fresh);
+
+        return fresh;
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    record ImageMetadata(String etag, String contentType, long lastModified, long size) {}
+}
@@ -0,0 +1,245 @@
+package org.kindit.hotel.endpoits.image;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Downscaled copies of uploaded images, written next to the original as
+ * {@code w<width>/<filename>}. They are produced in the background on a small
+ * bounded pool; until a rendition exists requests fall back to the original.
+ * Originals skipped because the pool was saturated are remembered and queued
+ * again by the store's sweep, or when the same bytes are uploaded again, since
+ * the store never renders a file it already has a second time. Dimensions are
+ * read from the header first: images above {@code hotel.images.max-pixels} are
+ * never decoded, and the rest are decoded subsampled to about the largest
+ * rendition needed.
+ */
+@Slf4j
+@Component
+public class ImageRenditions {
+
+    private final List<Integer> widths;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final Set<Path> skipped = ConcurrentHashMap.newKeySet();
+
+    public ImageRenditions(
+            @Value("${hotel.images.rendition-widths:200,800}") List<Integer> widths,
+            @Value("${hotel.images.max-pixels:40000000}") long maxPixels,
+            @Value("${hotel.images.threads:2}") int threads,
+            @Value("${hotel.images.queue-capacity:100}") int queueCapacity
+    ) {
+        this.widths = widths.stream().sorted().toList();
+        this.maxPixels = maxPixels;
+
+        AtomicInteger counter = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-renditions-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+    }
+
+    public void render(Path original) {
+        try {
+            executor.execute(() -> {
+                try {
+                    renderNow(original);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Could not render {}", original, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            skipped.add(original);
+            log.warn("Image rendition queue is full, skipped {} ({} waiting for a retry)", original, skipped.size());
+        }
+    }
+
+    /**
+     * Queues {@code original} again if an earlier attempt was skipped.
+     */
+    public void retry(Path original) {
+        if (skipped.remove(original)) {
+            render(original);
+        }
+    }
+
+    /**
+     * Queues every skipped original that still exists.
+     */
+    public void retrySkipped() {
+        for (Path original : List.copyOf(skipped)) {
+            skipped.remove(original);
+
+            if (Files.isRegularFile(original)) {
+                render(original);
+            }
+        }
+    }
+
+    /**
+     * Directory holding the smallest rendition at least {@code width} pixels wide,
+     * or the original directory when there is none.
+     */
+    public Path directoryFor(Path directory, String filename, Integer width) {
+        if (width == null) {
+            return directory;
+        }
+
+        for (Integer candidate : widths) {
+            if (candidate >= width) {
+                Path renditionDirectory = directory.resolve("w" + candidate);
+
+                if (Files.isRegularFile(renditionDirectory.resolve(filename))) {
+                    return renditionDirectory;
+                }
+            }
+        }
+
+        return directory;
+    }
+
+    public List<Path> renditionsOf(Path original) {
+        return widths.stream()
+                .map(width -> original.resolveSibling("w" + width).resolve(original.getFileName()))
+                .toList();
+    }
+
+    void renderNow(Path original) throws IOException {
+        String format = formatOf(original);
+
+        if (format == null || !ImageIO.getImageWritersByFormatName(format).hasNext()) {
+            return;
+        }
+
+        Decoded source = decode(original);
+
+        if (source == null) {
+            return;
+        }
+
+        for (Integer width : widths) {
+            if (width >= source.width()) {
+                break;
+            }
+
+            int height = Math.max(1, Math.round((float) source.height() * width / source.width()));
+            boolean opaque = format.equals("jpg") || format.equals("jpeg") || format.equals("bmp");
+
+            BufferedImage scaled = new BufferedImage(width, height,
+                    opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(source.image(), 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            Path target = original.resolveSibling("w" + width).resolve(original.getFileName());
+            Files.createDirectories(target.getParent());
+
+            // Written aside and moved in, so a request never sees a half-written file.
+            Path temporary = Files.createTempFile(target.getParent(), "rendition", ".tmp");
+            try {
+                ImageIO.write(scaled, format, temporary.toFile());
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    /**
+     * Decodes the image no larger than the widest rendition it needs, or returns
+     * null when it is not an image, needs no rendition or exceeds the pixel cap.
+     */
+    private Decoded decode(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                if ((long) width * height > maxPixels) {
+                    log.warn("Not rendering {}: {}x{} exceeds {} pixels", original, width, height, maxPixels);
+                    return null;
+                }
+
+                int widest = widths.stream()
+                        .filter(candidate -> candidate < width)
+                        .reduce((first, second) -> second)
+                        .orElse(0);
+
+                if (widest == 0) {
+                    return null;
+                }
+
+                // Keeps every column the widest rendition samples from, nothing more.
+                int subsampling = Math.max(1, width / widest);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                return new Decoded(reader.read(0, param), width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Width and height are the original's; the image itself may be subsampled.
+    private record Decoded(BufferedImage image, int width, int height) {}
+
+    private static String formatOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+
+        return dot < 0 ? null : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
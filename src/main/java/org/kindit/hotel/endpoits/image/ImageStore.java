@@ -0,0 +1,185 @@
+package org.kindit.hotel.endpoits.image;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kindit.hotel.Repository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed image store. An upload is named after the SHA-256 of its
+ * bytes, so the same photo uploaded twice is stored once. Files are never
+ * deleted when an entity lets go of them: {@link #sweep()} periodically removes
+ * files (and their renditions) that no room or user references any more.
+ * Files touched within the grace period are left alone, which covers uploads
+ * whose entity has not been saved yet.
+ */
+@Slf4j
+@Component
+public class ImageStore {
+
+    static final Path ROOM_IMAGES = Path.of("uploads/rooms/");
+    static final Path USER_IMAGES = Path.of("uploads/users/");
+
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+
+    private final Repository repository;
+    private final ImageRenditions imageRenditions;
+    private final ImageHandler imageHandler;
+    private final Duration gracePeriod;
+
+    public ImageStore(
+            Repository repository,
+            ImageRenditions imageRenditions,
+            ImageHandler imageHandler,
+            @Value("${hotel.images.sweep-grace-period:1h}") Duration gracePeriod
+    ) {
+        this.repository = repository;
+        this.imageRenditions = imageRenditions;
+        this.imageHandler = imageHandler;
+        this.gracePeriod = gracePeriod;
+    }
+
+    public String save(Path directory, MultipartFile image) {
+        MessageDigest digest = sha256();
+
+        try {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, "upload", ".tmp");
+
+            try {
+                try (InputStream in = new DigestInputStream(image.getInputStream(), digest)) {
+                    Files.copy(in, temporary, StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                String name = HexFormat.of().formatHex(digest.digest()) + extensionOf(image.getOriginalFilename());
+                Path target = directory.resolve(name);
+
+                if (Files.exists(target)) {
+                    // A fresh reference to an old file; restart its grace period so a sweep cannot race the save.
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                    imageRenditions.retry(target.toAbsolutePath());
+                } else {
+                    Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    imageRenditions.render(target.toAbsolutePath());
+                }
+
+                imageHandler.evict(target);
+
+                return name;
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${hotel.images.sweep-interval-ms:3600000}",
+            fixedDelayString = "${hotel.images.sweep-interval-ms:3600000}"
+    )
+    public void sweep() {
+        imageRenditions.retrySkipped();
+
+        int deleted = sweep(ROOM_IMAGES, repository.getRoomRepository().findAllImagePaths())
+                + sweep(USER_IMAGES, repository.getUserRepository().findAllImages());
+
+        if (deleted > 0) {
+            log.info("Removed {} unreferenced image files", deleted);
+        }
+    }
+
+    int sweep(Path directory, Set<String> referenced) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        int deleted = 0;
+
+        for (Path file : list(directory)) {
+            if (Files.isDirectory(file)) {
+                // Rendition folders: drop whatever no longer has an original next to it.
+                for (Path rendition : list(file)) {
+                    if (!Files.exists(directory.resolve(rendition.getFileName())) && delete(rendition, cutoff)) {
+                        deleted++;
+                    }
+                }
+            } else if (!referenced.contains(file.getFileName().toString()) && delete(file, cutoff)) {
+                deleted++;
+
+                for (Path rendition : imageRenditions.renditionsOf(file)) {
+                    if (delete(rendition, Instant.MAX)) {
+                        deleted++;
+                    }
+                }
+            }
+        }
+
+        return deleted;
+    }
+
+    private boolean delete(Path file, Instant cutoff) {
+        try {
+            if (!Files.isRegularFile(file) || !Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                return false;
+            }
+
+            boolean deleted = Files.deleteIfExists(file);
+            imageHandler.evict(file);
+
+            return deleted;
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+            return false;
+        }
+    }
+
+    private static List<Path> list(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        } catch (IOException e) {
+            log.warn("Could not list {}", directory, e);
+            return List.of();
+        }
+    }
+
+    private static String extensionOf(String filename) {
+        if (filename == null) {
+            return "";
+        }
+
+        int dot = filename.lastIndexOf('.');
+        String extension = dot < 0 ? "" : filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+
+        return EXTENSION.matcher(extension).matches() ? "." + extension : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
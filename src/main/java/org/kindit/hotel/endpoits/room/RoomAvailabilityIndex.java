@@ -0,0 +1,285 @@
+package org.kindit.hotel.endpoits.room;
+
+import lombok.RequiredArgsConstructor;
+import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.booking.BookingRepository;
+import org.kindit.hotel.data.booking.BookingStatus;
+import org.kindit.hotel.data.booking.BookingStay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index of active (PENDING, CONFIRMED, CHECKED_IN) bookings per room.
+ * Built from the database on startup and kept in sync by BookingService: changes
+ * made inside a transaction reach the index only once it commits, so a rollback
+ * leaves it untouched. A rebuild fills fresh maps and swaps them in whole,
+ * replaying the changes committed meanwhile, so searches never see a half-built
+ * index. Off by default: the index only sees writes made by its own instance, so
+ * enable it only where a single instance serves the database; otherwise the
+ * search stays on SQL.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomAvailabilityIndex {
+
+    private final BookingRepository bookingRepository;
+
+    @Value("${hotel.availability.in-memory-index:false}")
+    private boolean enabled;
+
+    private volatile Stays stays = new Stays();
+    private volatile boolean ready;
+
+    // Changes committed while a rebuild reads the database; guarded by this.
+    private List<Consumer<Stays>> pending;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            ready = false;
+            return;
+        }
+
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+
+        Stays rebuilt = new Stays();
+
+        try {
+            for (BookingStay stay : bookingRepository.findStaysByStatusIn(BookingStatus.ACTIVE)) {
+                rebuilt.put(stay.bookingId(), stay.roomId(), stay.checkInDate(), stay.checkOutDate());
+            }
+        } finally {
+            synchronized (this) {
+                pending.forEach(change -> change.accept(rebuilt));
+                pending = null;
+            }
+        }
+
+        stays = rebuilt;
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexes the booking as saved, after the surrounding transaction commits.
+     */
+    public void update(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+
+        Integer bookingId = booking.getId();
+        Integer roomId = booking.getRoom() != null ? booking.getRoom().getId() : null;
+        boolean active = booking.getStatus() != null && booking.getStatus().isActive() && roomId != null;
+        LocalDate checkIn = booking.getCheckInDate();
+        LocalDate checkOut = booking.getCheckOutDate();
+
+        afterCommit(index -> {
+            index.remove(bookingId);
+
+            if (active) {
+                index.put(bookingId, roomId, checkIn, checkOut);
+            }
+        });
+    }
+
+    /**
+     * Drops the booking, after the surrounding transaction commits.
+     */
+    public void remove(Integer bookingId) {
+        if (!enabled) {
+            return;
+        }
+
+        afterCommit(index -> index.remove(bookingId));
+    }
+
+    public boolean isFree(Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        return stays.isFree(roomId, checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    private void afterCommit(Consumer<Stays> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private synchronized void apply(Consumer<Stays> change) {
+        change.accept(stays);
+
+        if (pending != null) {
+            pending.add(change);
+        }
+    }
+
+    private static final class Stays {
+
+        private final Map<Integer, RoomStays> byRoom = new ConcurrentHashMap<>();
+        private final Map<Integer, Integer> roomByBooking = new ConcurrentHashMap<>();
+
+        void put(Integer bookingId, Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+            if (checkIn == null || checkOut == null) {
+                return;
+            }
+
+            long from = checkIn.toEpochDay();
+            long to = checkOut.toEpochDay();
+
+            byRoom.compute(roomId, (id, stays) -> stays == null
+                    ? RoomStays.of(bookingId, from, to)
+                    : stays.with(bookingId, from, to));
+            roomByBooking.put(bookingId, roomId);
+        }
+
+        void remove(Integer bookingId) {
+            Integer roomId = roomByBooking.remove(bookingId);
+
+            if (roomId != null) {
+                byRoom.computeIfPresent(roomId, (id, stays) -> stays.without(bookingId));
+            }
+        }
+
+        boolean isFree(Integer roomId, long from, long to) {
+            RoomStays room = byRoom.get(roomId);
+            return room == null || room.isFree(from, to);
+        }
+    }
+
+    /**
+     * Immutable interval index over one room's stays: the stays sorted by check-in
+     * day plus the running maximum of their check-out days. Every stay that starts
+     * on or before {@code to} sits in a prefix found by binary search, and the
+     * prefix maximum tells whether any of them reaches {@code from}, so a lookup
+     * is O(log n) even if stays overlap. Writes copy the room's arrays.
+     */
+    private static final class RoomStays {
+
+        private final int[] bookingIds;
+        private final long[] from;
+        private final long[] to;
+        private final long[] maxTo;
+
+        private RoomStays(int[] bookingIds, long[] from, long[] to) {
+            this.bookingIds = bookingIds;
+            this.from = from;
+            this.to = to;
+            this.maxTo = new long[to.length];
+
+            for (int i = 0; i < to.length; i++) {
+                maxTo[i] = i == 0 ? to[i] : Math.max(maxTo[i - 1], to[i]);
+            }
+        }
+
+        static RoomStays of(int bookingId, long from, long to) {
+            return new RoomStays(new int[]{bookingId}, new long[]{from}, new long[]{to});
+        }
+
+        RoomStays with(int bookingId, long checkIn, long checkOut) {
+            RoomStays base = without(bookingId);
+
+            if (base == null) {
+                return of(bookingId, checkIn, checkOut);
+            }
+
+            int n = base.from.length;
+            int at = base.countStartingBy(checkIn);
+
+            int[] ids = new int[n + 1];
+            long[] froms = new long[n + 1];
+            long[] tos = new long[n + 1];
+
+            System.arraycopy(base.bookingIds, 0, ids, 0, at);
+            System.arraycopy(base.from, 0, froms, 0, at);
+            System.arraycopy(base.to, 0, tos, 0, at);
+            ids[at] = bookingId;
+            froms[at] = checkIn;
+            tos[at] = checkOut;
+            System.arraycopy(base.bookingIds, at, ids, at + 1, n - at);
+            System.arraycopy(base.from, at, froms, at + 1, n - at);
+            System.arraycopy(base.to, at, tos, at + 1, n - at);
+
+            return new RoomStays(ids, froms, tos);
+        }
+
+        /**
+         * Returns the stays without the booking, this instance if it is not here,
+         * or null once the room has no stays left.
+         */
+        RoomStays without(int bookingId) {
+            int n = bookingIds.length;
+            int at = 0;
+
+            while (at < n && bookingIds[at] != bookingId) {
+                at++;
+            }
+
+            if (at == n) {
+                return this;
+            }
+
+            if (n == 1) {
+                return null;
+            }
+
+            int[] ids = new int[n - 1];
+            long[] froms = new long[n - 1];
+            long[] tos = new long[n - 1];
+
+            System.arraycopy(bookingIds, 0, ids, 0, at);
+            System.arraycopy(from, 0, froms, 0, at);
+            System.arraycopy(to, 0, tos, 0, at);
+            System.arraycopy(bookingIds, at + 1, ids, at, n - at - 1);
+            System.arraycopy(from, at + 1, froms, at, n - at - 1);
+            System.arraycopy(to, at + 1, tos, at, n - at - 1);
+
+            return new RoomStays(ids, froms, tos);
+        }
+
+        boolean isFree(long checkIn, long checkOut) {
+            int starting = countStartingBy(checkOut);
+            return starting == 0 || maxTo[starting - 1] < checkIn;
+        }
+
+        // Number of stays whose check-in day is on or before the given day.
+        private int countStartingBy(long day) {
+            int low = 0;
+            int high = from.length;
+
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+
+                if (from[mid] <= day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+    }
+}
@@ -1,22 +1,24 @@
 package org.kindit.hotel.endpoits.room;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.data.room.RoomView;
 import org.kindit.hotel.endpoits.ApiController;
+import org.kindit.hotel.endpoits.image.ImageHandler;
+import org.kindit.hotel.endpoits.image.ImageRenditions;
 import org.kindit.hotel.endpoits.room.request.RoomRequest;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.kindit.hotel.endpoits.room.response.RoomCalendarResponse;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -25,9 +27,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class RoomController extends ApiController<RoomService> {
 
+    private final ImageHandler imageHandler;
+    private final ImageRenditions imageRenditions;
+
     @GetMapping("all")
     @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
-    public ResponseEntity<List<Room>> getAllRooms() {
+    public ResponseEntity<List<RoomView>> getAllRooms() {
         return ResponseEntity.ok(service.getAllRooms());
     }
 
@@ -36,6 +41,15 @@ public class RoomController extends ApiController<RoomService> {
         return ResponseEntity.ok(service.getAllAvailableRoom(checkIn, checkOut));
     }
 
+    @GetMapping("/calendar")
+    @PreAuthorize("hasAnyRole('MODERATOR', 'ADMIN')")
+    public ResponseEntity<RoomCalendarResponse> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(service.getCalendar(from, to));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Room> getRoomById(@PathVariable Integer id) {
         return service.getRoomById(id)
@@ -89,27 +103,15 @@ public class RoomController extends ApiController<RoomService> {
     }
 
     @GetMapping("/image/{filename}")
-    public ResponseEntity<Resource> getImage(@PathVariable String filename) {
-        try {
-            Path file = Paths.get("uploads/rooms/" + filename).toAbsolutePath();
-            Resource resource = new UrlResource(file.toUri());
-
-            if (resource.exists()) {
-                String contentType = Files.probeContentType(file);
-
-                if (contentType == null) {
-                    contentType = "application/octet-stream";
-                }
-
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    public void getImage(
+            @PathVariable String filename,
+            @RequestParam(required = false) Integer w,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Path directory = imageRenditions.directoryFor(Path.of("uploads/rooms/"), filename, w);
+
+        imageHandler.serve(directory, filename, request, response);
     }
 }
 
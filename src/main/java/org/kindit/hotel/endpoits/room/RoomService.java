@@ -3,20 +3,21 @@ package org.kindit.hotel.endpoits.room;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.kindit.hotel.config.CatalogCache;
 import org.kindit.hotel.data.additionalService.AdditionalService;
-import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.booking.BookingOccupancy;
 import org.kindit.hotel.data.booking.BookingStatus;
 import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.data.room.RoomView;
 import org.kindit.hotel.endpoits.ServiceController;
 import org.kindit.hotel.endpoits.room.request.RoomRequest;
+import org.kindit.hotel.endpoits.room.response.RoomCalendarResponse;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Optional;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Getter
@@ -24,10 +25,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class RoomService extends ServiceController {
 
+    private static final int MAX_CALENDAR_DAYS = 366;
+
     private final String uploadDir = "uploads/rooms/";
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final CatalogCache catalogCache;
 
-    public List<Room> getAllRooms() {
-        return repository.getRoomRepository().findAll();
+    public List<RoomView> getAllRooms() {
+        return repository.getRoomRepository().findAllProjectedByOrderByIdAsc();
     }
 
     public Optional<Room> getRoomById(Integer id) {
@@ -35,28 +40,117 @@ public class RoomService extends ServiceController {
     }
 
     public List<Room> getAllAvailableRoom(LocalDate checkIn, LocalDate checkOut) {
-        List<Room> allRooms = repository.getRoomRepository().findAll();
-
-        return allRooms.stream()
-                .filter(room -> {
-                    List<Booking> bookings = repository.getBookingRepository().findByRoomId(room.getId());
-
-                    return bookings.stream()
-                            .filter(b -> !isInactive(b.getStatus()))
-                            .noneMatch(b ->
-                                    !checkOut.isBefore(b.getCheckInDate()) &&
-                                            !checkIn.isAfter(b.getCheckOutDate())
-                            );
-                })
+        if (!availabilityIndex.isReady()) {
+            return repository.getRoomRepository().findAvailable(checkIn, checkOut, BookingStatus.ACTIVE);
+        }
+
+        // findAll is a cached query over cached rooms, so a warm search runs no SQL.
+        return repository.getRoomRepository().findAll().stream()
+                .filter(room -> availabilityIndex.isFree(room.getId(), checkIn, checkOut))
                 .collect(Collectors.toList());
     }
 
-    private boolean isInactive(BookingStatus status) {
-        return status == BookingStatus.CANCELLED ||
-                status == BookingStatus.CHECKED_OUT ||
-                status == BookingStatus.NO_SHOW;
+    public RoomCalendarResponse getCalendar(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The end of the window must not be before its start");
+        }
+
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+
+        if (days > MAX_CALENDAR_DAYS) {
+            throw new IllegalArgumentException("The calendar window cannot exceed " + MAX_CALENDAR_DAYS + " days");
+        }
+
+        Map<Integer, List<BookingOccupancy>> bookingsByRoom = repository.getBookingRepository()
+                .findOccupancy(BookingStatus.ACTIVE, from, to).stream()
+                .collect(Collectors.groupingBy(BookingOccupancy::roomId));
+
+        List<RoomCalendarResponse.RoomRow> rows = repository.getRoomRepository().findAllProjectedByOrderByIdAsc().stream()
+                .map(room -> new RoomCalendarResponse.RoomRow(
+                        room.id(),
+                        room.number(),
+                        sweep(bookingsByRoom.getOrDefault(room.id(), List.of()), from, days)
+                ))
+                .toList();
+
+        return new RoomCalendarResponse(from, to, rows);
+    }
+
+    /**
+     * Turns one room's bookings into runs of equal status. Every booking opens on
+     * its check-in day and closes after its check-out day (the check-out day counts
+     * as occupied, same as the overlap check). Walking the sorted events keeps a
+     * count of open bookings per status, so the work depends on the number of
+     * bookings rather than on the width of the window.
+     */
+    private List<RoomCalendarResponse.Run> sweep(List<BookingOccupancy> bookings, LocalDate from, int days) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+
+        long origin = from.toEpochDay();
+        List<CalendarEvent> events = new ArrayList<>(bookings.size() * 2);
+
+        for (BookingOccupancy booking : bookings) {
+            int start = (int) Math.max(0, booking.checkInDate().toEpochDay() - origin);
+            int end = (int) Math.min(days, booking.checkOutDate().toEpochDay() - origin + 1);
+
+            if (start < end) {
+                events.add(new CalendarEvent(start, booking.status(), 1));
+                events.add(new CalendarEvent(end, booking.status(), -1));
+            }
+        }
+
+        events.sort(Comparator.comparingInt(CalendarEvent::day));
+
+        int[] open = new int[BookingStatus.values().length];
+        List<RoomCalendarResponse.Run> runs = new ArrayList<>();
+        BookingStatus current = null;
+        int cursor = 0;
+
+        for (CalendarEvent event : events) {
+            if (event.day() > cursor) {
+                if (current != null) {
+                    appendRun(runs, cursor, event.day() - cursor, current);
+                }
+                cursor = event.day();
+            }
+
+            open[event.status().ordinal()] += event.delta();
+            current = dominantStatus(open);
+        }
+
+        return runs;
+    }
+
+    // When legacy data has overlapping bookings the most advanced status wins the day.
+    private BookingStatus dominantStatus(int[] open) {
+        for (int i = BookingStatus.ACTIVE.size() - 1; i >= 0; i--) {
+            BookingStatus status = BookingStatus.ACTIVE.get(i);
+
+            if (open[status.ordinal()] > 0) {
+                return status;
+            }
+        }
+
+        return null;
+    }
+
+    private void appendRun(List<RoomCalendarResponse.Run> runs, int from, int days, BookingStatus status) {
+        if (!runs.isEmpty()) {
+            RoomCalendarResponse.Run last = runs.get(runs.size() - 1);
+
+            if (last.status() == status && last.from() + last.days() == from) {
+                runs.set(runs.size() - 1, new RoomCalendarResponse.Run(last.from(), last.days() + days, status));
+                return;
+            }
+        }
+
+        runs.add(new RoomCalendarResponse.Run(from, days, status));
     }
 
+    private record CalendarEvent(int day, BookingStatus status, int delta) {}
+
     public Room createRoom(RoomRequest request) {
         String imageName = "";
         List<AdditionalService> additionalServices = repository.getAdditionalServiceRepository()
@@ -77,7 +171,10 @@ public class RoomService extends ServiceController {
                 .additionalServices(additionalServices)
                 .build();
 
-        return repository.getRoomRepository().save(room);
+        Room saved = repository.getRoomRepository().save(room);
+        catalogCache.evictRoom(saved.getId());
+
+        return saved;
     }
 
     public Optional<Room> refreshRoom(Integer id, RoomRequest request) {
@@ -96,7 +193,10 @@ public class RoomService extends ServiceController {
                 existing.setImagePath(saveImage(Path.of(uploadDir), request.getImage()));
             }
 
-            return repository.getRoomRepository().save(existing);
+            Room saved = repository.getRoomRepository().save(existing);
+            catalogCache.evictRoom(id);
+
+            return saved;
         });
     }
 
@@ -129,7 +229,10 @@ public class RoomService extends ServiceController {
                 existing.setAdditionalServices(additionalServices);
             }
 
-            return repository.getRoomRepository().save(existing);
+            Room saved = repository.getRoomRepository().save(existing);
+            catalogCache.evictRoom(id);
+
+            return saved;
         });
     }
 
@@ -138,16 +241,9 @@ public class RoomService extends ServiceController {
                 .findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Room not found"));
 
-        if (room.getImagePath() != null) {
-            Path imagePath = Path.of(room.getImagePath()).toAbsolutePath();
-            try {
-                Files.deleteIfExists(imagePath);
-            } catch (IOException e) {
-                throw new RuntimeException("Не удалось удалить изображение: " + imagePath, e);
-            }
-        }
-
+        // The image may be shared with other rooms; ImageStore sweeps it once nothing references it.
         repository.getRoomRepository().deleteById(id);
+        catalogCache.evictRoom(id);
 
         return repository.getRoomRepository().findById(id).isEmpty();
     }
@@ -0,0 +1,18 @@
+package org.kindit.hotel.endpoits.room.response;
+
+import org.kindit.hotel.data.booking.BookingStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Occupancy grid for a date window. Each room lists only its occupied runs;
+ * days not covered by a run are free. {@code from} is the offset in days from
+ * the start of the window.
+ */
+public record RoomCalendarResponse(LocalDate from, LocalDate to, List<RoomRow> rooms) {
+
+    public record RoomRow(Integer id, Integer number, List<Run> runs) {}
+
+    public record Run(int from, int days, BookingStatus status) {}
+}
@@ -1,23 +1,24 @@
 package org.kindit.hotel.endpoits.user;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.kindit.hotel.data.user.User;
+import org.kindit.hotel.data.user.UserView;
 import org.kindit.hotel.endpoits.ApiController;
+import org.kindit.hotel.endpoits.CursorPage;
+import org.kindit.hotel.endpoits.image.ImageHandler;
+import org.kindit.hotel.endpoits.image.ImageRenditions;
 import org.kindit.hotel.endpoits.user.request.UserRequest;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 
 @RestController
@@ -25,10 +26,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController extends ApiController<UserService> {
 
+    private final ImageHandler imageHandler;
+    private final ImageRenditions imageRenditions;
+
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAll() {
-        List<User> users = service.getAll();
+    public ResponseEntity<List<UserView>> getAll() {
+        List<UserView> users = service.getAll();
 
         if (users.isEmpty())
             return ResponseEntity.noContent().build();
@@ -36,6 +40,17 @@ public class UserController extends ApiController<UserService> {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping(value = "/all", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<UserView>> getAllByCursor(
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        checkCursorPageSize(size);
+
+        return ResponseEntity.ok(service.getAllByCursor(cursor, size));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<User> get(@PathVariable Integer id) {
@@ -158,26 +173,14 @@ public class UserController extends ApiController<UserService> {
     }
 
     @GetMapping("/image/{filename}")
-    public ResponseEntity<Resource> getImage(@PathVariable String filename) {
-        try {
-            Path file = Paths.get("uploads/users/" + filename).toAbsolutePath();
-            Resource resource = new UrlResource(file.toUri());
-
-            if (resource.exists()) {
-                String contentType = Files.probeContentType(file);
-
-                if (contentType == null) {
-                    contentType = "application/octet-stream";
-                }
-
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .body(resource);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+    public void getImage(
+            @PathVariable String filename,
+            @RequestParam(required = false) Integer w,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Path directory = imageRenditions.directoryFor(Path.of("uploads/users/"), filename, w);
+
+        imageHandler.serve(directory, filename, request, response);
     }
 }
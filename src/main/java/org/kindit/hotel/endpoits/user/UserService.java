@@ -2,9 +2,15 @@ package org.kindit.hotel.endpoits.user;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.kindit.hotel.config.TokenRevocationRegistry;
+import org.kindit.hotel.config.UserDetailsCache;
+import org.kindit.hotel.data.user.Role;
 import org.kindit.hotel.data.user.User;
+import org.kindit.hotel.data.user.UserView;
+import org.kindit.hotel.endpoits.CursorPage;
 import org.kindit.hotel.endpoits.ServiceController;
 import org.kindit.hotel.endpoits.user.request.UserRequest;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -18,10 +24,28 @@ import java.util.Optional;
 public class UserService extends ServiceController {
 
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
     private final String uploadDir = "uploads/users/";
 
-    public List<User> getAll() {
-        return repository.getUserRepository().findAll();
+    public List<UserView> getAll() {
+        return repository.getUserRepository().findAllProjectedByOrderByIdAsc();
+    }
+
+    public CursorPage<UserView> getAllByCursor(String cursor, int size) {
+        int afterId = 0;
+
+        if (!cursor.isEmpty()) {
+            try {
+                afterId = Integer.parseInt(CursorPage.decode(cursor, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw CursorPage.invalidCursor();
+            }
+        }
+
+        List<UserView> rows = repository.getUserRepository().findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+
+        return CursorPage.of(rows, size, u -> List.of(u.id()));
     }
 
     public Optional<User> get(Integer id) {
@@ -29,7 +53,7 @@ public class UserService extends ServiceController {
     }
 
     public Optional<User> getMe() {
-        return Optional.of(getAuthentifactedUser());
+        return repository.getUserRepository().findById(getAuthentifactedUser().getId());
     }
 
     public User post(UserRequest request) {
@@ -53,6 +77,7 @@ public class UserService extends ServiceController {
                 .build();
 
         repository.getUserRepository().save(user);
+        userDetailsCache.evict(user.getEmail());
 
         return user;
     }
@@ -62,6 +87,7 @@ public class UserService extends ServiceController {
 
         User existingUser = repository.getUserRepository().findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("User with id " + id + " not found"));
+        String previousEmail = existingUser.getEmail();
 
         repository.getUserRepository().findByEmail(request.getEmail()).ifPresent(user -> {
             if (!Objects.equals(user.getId(), existingUser.getId()))
@@ -78,8 +104,15 @@ public class UserService extends ServiceController {
         existingUser.setRole(request.getRole());
         existingUser.setPassword(passwordEncoder.encode(request.getPassword()));
         existingUser.setImage(imageName);
+        existingUser.setTokenVersion(existingUser.getTokenVersion() + 1);
+
+        User saved = repository.getUserRepository().save(existingUser);
+        userDetailsCache.evict(previousEmail);
+        userDetailsCache.evict(saved.getEmail());
+        tokenRevocationRegistry.update(saved.getId(), saved.getTokenVersion());
+        repository.getRefreshTokenRepository().revokeAllByUserId(saved.getId());
 
-        return repository.getUserRepository().save(existingUser);
+        return saved;
     }
 
     public User putMe(UserRequest request) {
@@ -91,6 +124,8 @@ public class UserService extends ServiceController {
     public User patch(Integer id, UserRequest request) {
         User existingUser = repository.getUserRepository().findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("User with id " + id + " not found"));
+        String previousEmail = existingUser.getEmail();
+        Role previousRole = existingUser.getRole();
 
         if (request.getFirstname() != null) {
             existingUser.setFirstname(request.getFirstname());
@@ -116,7 +151,24 @@ public class UserService extends ServiceController {
             existingUser.setRole(request.getRole());
         }
 
-        return repository.getUserRepository().save(existingUser);
+        boolean credentialsChanged = !Objects.equals(previousEmail, existingUser.getEmail())
+                || previousRole != existingUser.getRole()
+                || request.getPassword() != null;
+
+        if (credentialsChanged) {
+            existingUser.setTokenVersion(existingUser.getTokenVersion() + 1);
+        }
+
+        User saved = repository.getUserRepository().save(existingUser);
+        userDetailsCache.evict(previousEmail);
+        userDetailsCache.evict(saved.getEmail());
+        tokenRevocationRegistry.update(saved.getId(), saved.getTokenVersion());
+
+        if (credentialsChanged) {
+            repository.getRefreshTokenRepository().revokeAllByUserId(saved.getId());
+        }
+
+        return saved;
     }
 
     public User patchMe(UserRequest request) {
@@ -130,6 +182,8 @@ public class UserService extends ServiceController {
                 .findById(id)
                 .map(user -> {
                     repository.getUserRepository().delete(user);
+                    userDetailsCache.evict(user.getEmail());
+                    tokenRevocationRegistry.revokeAll(user.getId());
                     return true;
                 })
                 .orElse(false);
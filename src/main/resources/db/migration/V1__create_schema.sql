@@ -0,0 +1,80 @@
+-- Schema as previously generated by Hibernate from the entities.
+
+create sequence _user_seq start with 1 increment by 50;
+create sequence booking_seq start with 1 increment by 50;
+
+create table _user (
+    id            integer      not null,
+    firstname     varchar(255),
+    lastname      varchar(255),
+    email         varchar(255) not null,
+    image         varchar(255),
+    password      varchar(255),
+    role          varchar(255) check (role in ('ADMIN', 'MANAGER', 'USER')),
+    token_version integer      not null default 0,
+    primary key (id),
+    constraint uk_user_email unique (email)
+);
+
+create table additional_service (
+    id          integer generated by default as identity,
+    name        varchar(255),
+    description varchar(255),
+    price       integer,
+    primary key (id)
+);
+
+create table room (
+    id              integer generated by default as identity,
+    number          integer,
+    name            varchar(255),
+    capacity        integer,
+    price_per_night integer,
+    description     varchar(255),
+    image_path      varchar(255),
+    is_available    boolean not null,
+    primary key (id)
+);
+
+create table room_additional_service (
+    room_id    integer not null,
+    service_id integer not null,
+    constraint fk_room_additional_service_room foreign key (room_id) references room,
+    constraint fk_room_additional_service_service foreign key (service_id) references additional_service
+);
+
+create table booking (
+    id             integer not null,
+    user_id        integer,
+    room_id        integer,
+    check_in_date  date,
+    check_out_date date,
+    status         varchar(255) check (status in ('PENDING', 'CONFIRMED', 'CANCELLED', 'CHECKED_IN', 'CHECKED_OUT', 'NO_SHOW')),
+    total_price    integer,
+    primary key (id),
+    constraint fk_booking_user foreign key (user_id) references _user,
+    constraint fk_booking_room foreign key (room_id) references room
+);
+
+create table booking_additional_services (
+    booking_id integer not null,
+    service_id integer not null,
+    constraint fk_booking_additional_services_booking foreign key (booking_id) references booking,
+    constraint fk_booking_additional_services_service foreign key (service_id) references additional_service
+);
+
+create table refresh_token (
+    id         integer generated by default as identity,
+    token_hash varchar(64)                 not null,
+    family     varchar(36)                 not null,
+    user_id    integer                     not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked    boolean                     not null,
+    primary key (id),
+    constraint fk_refresh_token_user foreign key (user_id) references _user on delete cascade
+);
+
+create index idx_booking_room_status_dates on booking (room_id, status, check_in_date, check_out_date);
+create index idx_booking_user_check_in on booking (user_id, check_in_date desc);
+create unique index idx_refresh_token_hash on refresh_token (token_hash);
+create index idx_refresh_token_family on refresh_token (family);
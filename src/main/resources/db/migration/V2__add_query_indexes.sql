@@ -0,0 +1,13 @@
+-- Admin listing by status and the occupancy calendar: for a window around today
+-- the check-out bound skips the finished history, the check-in bound is checked in the index.
+create index idx_booking_status_check_out on booking (status, check_out_date, check_in_date);
+
+-- RoomRepository.findByNumber
+create index idx_room_number on room (number);
+
+-- Batch fetch of the service collections by owner id
+create index idx_room_additional_service_room on room_additional_service (room_id);
+create index idx_booking_additional_services_booking on booking_additional_services (booking_id);
+
+-- Revoking and pruning a user's refresh tokens, and the cascade when a user is deleted
+create index idx_refresh_token_user_expires on refresh_token (user_id, expires_at);
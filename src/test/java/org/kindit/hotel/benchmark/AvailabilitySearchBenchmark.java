@@ -0,0 +1,109 @@
+package org.kindit.hotel.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.kindit.hotel.Repository;
+import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.booking.BookingRepository;
+import org.kindit.hotel.data.booking.BookingStay;
+import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.data.room.RoomRepository;
+import org.kindit.hotel.endpoits.room.RoomAvailabilityIndex;
+import org.kindit.hotel.endpoits.room.RoomService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code RoomService.getAllAvailableRoom} and the per-room lookup of
+ * {@link RoomAvailabilityIndex} it is built on, over generated rooms and a year
+ * of bookings held in an in-memory repository, so only the Java side is
+ * measured. This is the search path only: booking creation checks overlaps in
+ * the database, see {@code BookingQueryBenchmark.admission}.
+ * Run with {@code mvn -Pbenchmark verify -Djmh.include=AvailabilitySearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilitySearchBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rooms;
+
+    private RoomService roomService;
+    private RoomAvailabilityIndex availabilityIndex;
+    private List<Room> roomList;
+    private final Random random = new Random(7);
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(42);
+        roomList = data.rooms(rooms);
+        List<Booking> bookings = data.bookings(roomList, data.users(1_000), 365);
+
+        List<BookingStay> stays = bookings.stream()
+                .filter(b -> b.getStatus().isActive())
+                .map(b -> new BookingStay(b.getId(), b.getRoom().getId(), b.getCheckInDate(), b.getCheckOutDate()))
+                .toList();
+
+        RoomRepository roomRepository = inMemory(RoomRepository.class, "findAll", roomList);
+        BookingRepository bookingRepository = inMemory(BookingRepository.class, "findStaysByStatusIn", stays);
+
+        availabilityIndex = new RoomAvailabilityIndex(bookingRepository);
+        ReflectionTestUtils.setField(availabilityIndex, "enabled", true);
+        availabilityIndex.rebuild();
+
+        // Read-only: the catalog cache is only touched by the write methods.
+        roomService = new RoomService(availabilityIndex, null);
+        ReflectionTestUtils.setField(roomService, "repository",
+                new Repository(null, roomRepository, null, bookingRepository, null));
+    }
+
+    @Benchmark
+    public List<Room> availableRooms() {
+        LocalDate checkIn = BenchmarkData.START.plusDays(random.nextInt(360));
+
+        return roomService.getAllAvailableRoom(checkIn, checkIn.plusDays(3));
+    }
+
+    @Benchmark
+    public void indexLookup(Blackhole blackhole) {
+        Room room = roomList.get(random.nextInt(roomList.size()));
+        LocalDate checkIn = BenchmarkData.START.plusDays(random.nextInt(360));
+
+        blackhole.consume(availabilityIndex.isFree(room.getId(), checkIn, checkIn.plusDays(3)));
+    }
+
+    /**
+     * A repository stub answering one query method with a fixed result.
+     */
+    private static <T> T inMemory(Class<T> type, String method, Object result) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, m, args) -> {
+            if (m.getName().equals(method)) {
+                return result;
+            }
+
+            throw new UnsupportedOperationException(m.getName());
+        }));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void run() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(AvailabilitySearchBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
@@ -0,0 +1,153 @@
+package org.kindit.hotel.benchmark;
+
+import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.booking.BookingStatus;
+import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.data.user.Role;
+import org.kindit.hotel.data.user.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded generator of hotel data shaped like production: rooms with a spread
+ * of prices and capacities, guests with real-looking names, and per-room
+ * booking histories of back-to-back stays with short gaps, mostly confirmed
+ * or finished and some cancelled. The same seed always yields the same data.
+ */
+final class BenchmarkData {
+
+    static final LocalDate START = LocalDate.of(2030, 1, 1);
+
+    /**
+     * Guest ids start above the accounts the application creates on startup.
+     */
+    static final int FIRST_USER_ID = 1_000;
+
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Ivan", "Maria", "Dmitry", "Elena", "Sergey", "Olga", "Alexey", "Natalia", "Pavel"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Ivanov", "Smirnov", "Kuznetsov", "Popov", "Vasiliev", "Petrov", "Sokolov", "Mikhailov", "Novikov", "Fedorov"
+    };
+
+    private final Random random;
+
+    BenchmarkData(long seed) {
+        this.random = new Random(seed);
+    }
+
+    List<Room> rooms(int count) {
+        List<Room> rooms = new ArrayList<>(count);
+
+        for (int i = 1; i <= count; i++) {
+            rooms.add(Room.builder()
+                    .id(i)
+                    .number(100 * (1 + i / 100) + i % 100)
+                    .name("Room " + i)
+                    .capacity(1 + random.nextInt(4))
+                    .pricePerNight(50 + 10 * random.nextInt(45))
+                    .isAvailable(true)
+                    .build());
+        }
+
+        return rooms;
+    }
+
+    List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+
+        for (int i = 1; i <= count; i++) {
+            users.add(User.builder()
+                    .id(FIRST_USER_ID + i)
+                    .firstname(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                    .lastname(LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                    .email("guest" + i + "@example.com")
+                    .password("password")
+                    .role(Role.USER)
+                    .build());
+        }
+
+        return users;
+    }
+
+    /**
+     * Walks every room from {@link #START} for {@code days} days, placing stays
+     * of one to seven nights separated by gaps of up to five days.
+     */
+    List<Booking> bookings(List<Room> rooms, List<User> users, int days) {
+        List<Booking> bookings = new ArrayList<>();
+        LocalDate end = START.plusDays(days);
+        int id = 1;
+
+        for (Room room : rooms) {
+            LocalDate checkIn = START.plusDays(random.nextInt(5));
+
+            while (checkIn.isBefore(end)) {
+                LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(7));
+
+                bookings.add(Booking.builder()
+                        .id(id++)
+                        .room(room)
+                        .user(users.get(random.nextInt(users.size())))
+                        .checkInDate(checkIn)
+                        .checkOutDate(checkOut)
+                        .status(status())
+                        .totalPrice(room.getPricePerNight() * (int) ChronoUnit.DAYS.between(checkIn, checkOut))
+                        .build());
+
+                checkIn = checkOut.plusDays(1 + random.nextInt(5));
+            }
+        }
+
+        return bookings;
+    }
+
+    private BookingStatus status() {
+        int roll = random.nextInt(100);
+
+        if (roll < 45) return BookingStatus.CONFIRMED;
+        if (roll < 70) return BookingStatus.CHECKED_OUT;
+        if (roll < 82) return BookingStatus.PENDING;
+        if (roll < 92) return BookingStatus.CANCELLED;
+        if (roll < 97) return BookingStatus.CHECKED_IN;
+        return BookingStatus.NO_SHOW;
+    }
+
+    static void insert(JdbcTemplate jdbcTemplate, List<Room> rooms, List<User> users, List<Booking> bookings) {
+        jdbcTemplate.batchUpdate(
+                "insert into room (id, number, name, capacity, price_per_night, is_available) values (?, ?, ?, ?, ?, ?)",
+                rooms.stream()
+                        .map(r -> new Object[]{r.getId(), r.getNumber(), r.getName(), r.getCapacity(), r.getPricePerNight(), true})
+                        .toList()
+        );
+
+        jdbcTemplate.batchUpdate(
+                "insert into _user (id, firstname, lastname, email, password, role, token_version) values (?, ?, ?, ?, ?, ?, 0)",
+                users.stream()
+                        .map(u -> new Object[]{u.getId(), u.getFirstname(), u.getLastname(), u.getEmail(), u.getPassword(), u.getRole().name()})
+                        .toList()
+        );
+
+        jdbcTemplate.batchUpdate(
+                "insert into booking (id, room_id, user_id, check_in_date, check_out_date, status, total_price) values (?, ?, ?, ?, ?, ?, ?)",
+                bookings.stream()
+                        .map(b -> new Object[]{
+                                b.getId(),
+                                b.getRoom().getId(),
+                                b.getUser().getId(),
+                                Date.valueOf(b.getCheckInDate()),
+                                Date.valueOf(b.getCheckOutDate()),
+                                b.getStatus().name(),
+                                b.getTotalPrice()
+                        })
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,122 @@
+package org.kindit.hotel.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.kindit.hotel.HotelApplication;
+import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.data.user.User;
+import org.kindit.hotel.endpoits.CursorPage;
+import org.kindit.hotel.endpoits.booking.BookingService;
+import org.kindit.hotel.endpoits.booking.request.BookingRequest;
+import org.kindit.hotel.endpoits.booking.response.BookingResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The database-facing hot paths of {@link BookingService}: booking creation
+ * with its admission check (room lock, row lock and overlap query) and the
+ * filtered admin listing, by page and by cursor. Runs the application on the test H2 database seeded
+ * with generated rooms, guests and a year of bookings.
+ * Run with {@code mvn -Pbenchmark verify -Djmh.include=BookingQueryBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+// The JPA stack needs about a minute of warm-up before it settles, far longer than the in-memory benchmarks.
+@Warmup(iterations = 20, time = 3)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingQueryBenchmark {
+
+    private static final int ROOMS = 2_000;
+    private static final int USERS = 5_000;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private TransactionTemplate transactionTemplate;
+    private final Random random = new Random(7);
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(HotelApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+
+        BenchmarkData data = new BenchmarkData(42);
+        List<Room> rooms = data.rooms(ROOMS);
+        List<User> users = data.users(USERS);
+        List<Booking> bookings = data.bookings(rooms, users, 365);
+
+        BenchmarkData.insert(context.getBean(JdbcTemplate.class), rooms, users, bookings);
+
+        bookingService = context.getBean(BookingService.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * {@link BookingService#create} itself, inside an outer transaction that is
+     * rolled back so the data set stays the same. Admitted and rejected requests
+     * both count; the commit-time index update never runs.
+     */
+    @Benchmark
+    public Boolean admission() {
+        LocalDate checkIn = BenchmarkData.START.plusDays(random.nextInt(360));
+
+        BookingRequest request = new BookingRequest();
+        request.setUserId(BenchmarkData.FIRST_USER_ID + 1 + random.nextInt(USERS));
+        request.setRoomId(1 + random.nextInt(ROOMS));
+        request.setCheckInDate(checkIn);
+        request.setCheckOutDate(checkIn.plusDays(3));
+        request.setAdditionalServiceIds(List.of());
+
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+
+            try {
+                return bookingService.create(request).isPresent();
+            } catch (IllegalStateException e) {
+                return false;
+            }
+        });
+    }
+
+    @Benchmark
+    public Page<BookingResponse> filteredPage() {
+        LocalDate from = BenchmarkData.START.plusDays(random.nextInt(330));
+
+        return bookingService.getAll(random.nextInt(5), 20, "CONFIRMED", "guest1", null, null, from, from.plusDays(30));
+    }
+
+    @Benchmark
+    public CursorPage<BookingResponse> filteredCursorPage() {
+        LocalDate from = BenchmarkData.START.plusDays(random.nextInt(330));
+
+        return bookingService.getAllByCursor("", 20, "CONFIRMED", null, "Anna", null, from, from.plusDays(30));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void run() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(BookingQueryBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
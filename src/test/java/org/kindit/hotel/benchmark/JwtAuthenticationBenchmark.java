@@ -0,0 +1,180 @@
+package org.kindit.hotel.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.kindit.hotel.config.JwtAuthenticationFilter;
+import org.kindit.hotel.config.JwtService;
+import org.kindit.hotel.config.TokenRevocationRegistry;
+import org.kindit.hotel.data.user.Role;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Key;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request with a bearer token: the filter as it was
+ * (key rebuilt and the token parsed three times) against the current one, for
+ * a legacy token resolved through the user details service and for a stateless
+ * token whose principal is built from the claims.
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=JwtAuthenticationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET_KEY = "SuperSuperSuperSuperSuperSuperSuperSuperSuperSuperSecretKey";
+
+    private final UserDetails user = User.withUsername("guest@example.com")
+            .password("password")
+            .authorities("USER")
+            .build();
+
+    private final UserDetailsService userDetailsService = username -> user;
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private LegacyJwtAuthenticationFilter legacyFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletRequest statelessRequest;
+
+    @Setup
+    public void setUp() {
+        TokenRevocationRegistry revocationRegistry = new TokenRevocationRegistry(null, Duration.ofHours(1), 1_000);
+        revocationRegistry.update(1, 0);
+
+        jwtService = new JwtService();
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, revocationRegistry,
+                new SimpleMeterRegistry());
+        legacyFilter = new LegacyJwtAuthenticationFilter(userDetailsService);
+
+        request = new MockHttpServletRequest("GET", "/api/v1/booking/me/all");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(user));
+
+        statelessRequest = new MockHttpServletRequest("GET", "/api/v1/booking/me/all");
+        statelessRequest.addHeader("Authorization", "Bearer " + jwtService.generateToken(
+                org.kindit.hotel.data.user.User.builder()
+                        .id(1)
+                        .email(user.getUsername())
+                        .role(Role.USER)
+                        .build()
+        ));
+    }
+
+    @Benchmark
+    public Object legacyFilter() throws Exception {
+        return authenticate(legacyFilter);
+    }
+
+    @Benchmark
+    public Object currentFilter() throws Exception {
+        return authenticate(filter);
+    }
+
+    @Benchmark
+    public Object statelessFilter() throws Exception {
+        return authenticate(filter, statelessRequest);
+    }
+
+    private Object authenticate(OncePerRequestFilter target) throws Exception {
+        return authenticate(target, request);
+    }
+
+    private Object authenticate(OncePerRequestFilter target, MockHttpServletRequest request) throws Exception {
+        SecurityContextHolder.clearContext();
+        target.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    /**
+     * The filter and JwtService code before the signing key and parser were cached.
+     */
+    private static class LegacyJwtAuthenticationFilter extends OncePerRequestFilter {
+
+        private final UserDetailsService userDetailsService;
+
+        LegacyJwtAuthenticationFilter(UserDetailsService userDetailsService) {
+            this.userDetailsService = userDetailsService;
+        }
+
+        @Override
+        protected void doFilterInternal(
+                HttpServletRequest request,
+                HttpServletResponse response,
+                FilterChain filterChain
+        ) throws ServletException, IOException {
+            String jwt = request.getHeader("Authorization").substring(7);
+            String userEmail = extractAllClaims(jwt).getSubject();
+
+            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+
+                boolean valid = extractAllClaims(jwt).getSubject().equals(userDetails.getUsername())
+                        && !extractAllClaims(jwt).getExpiration().before(new Date());
+
+                if (valid) {
+                    UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+
+                    authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                }
+            }
+
+            filterChain.doFilter(request, response);
+        }
+
+        private static Claims extractAllClaims(String token) {
+            return Jwts.parser()
+                    .setSigningKey(getSignInKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        }
+
+        private static Key getSignInKey() {
+            return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void run() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
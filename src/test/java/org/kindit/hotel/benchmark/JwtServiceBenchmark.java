@@ -0,0 +1,74 @@
+package org.kindit.hotel.benchmark;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.kindit.hotel.config.JwtService;
+import org.kindit.hotel.data.user.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtService} on its own: issuing a token, verifying and parsing one,
+ * and the two validation paths (claims already parsed, raw token string).
+ * Run with {@code mvn -Pbenchmark verify -Djmh.include=JwtServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        user = new BenchmarkData(42).users(1).get(0);
+        token = jwtService.generateToken(user);
+        claims = jwtService.parseVerified(token).orElseThrow();
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<Claims> parseVerified() {
+        return jwtService.parseVerified(token);
+    }
+
+    @Benchmark
+    public boolean validateParsedClaims() {
+        return jwtService.isTokenValid(claims, user);
+    }
+
+    @Benchmark
+    public boolean validateRawToken() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public User toPrincipal() {
+        return jwtService.toPrincipal(jwtService.parseVerified(token).orElseThrow());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void run() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
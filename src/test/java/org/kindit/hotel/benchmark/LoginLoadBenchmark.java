@@ -0,0 +1,116 @@
+package org.kindit.hotel.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.kindit.hotel.endpoits.auth.AuthenticationService;
+import org.kindit.hotel.endpoits.auth.request.RegisterRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency of an authenticated booking listing while other clients hammer the
+ * login endpoint. Run with {@code mvn test -Dbenchmark=true -Dtest=LoginLoadBenchmark};
+ * add {@code -Dhotel.security.login.threads=200 -Dhotel.security.login.queue-capacity=10000}
+ * to approximate hashing on the request threads without a bound.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LoginLoadBenchmark {
+
+    private static final int LOGIN_CLIENTS = 32;
+    private static final int SAMPLES = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void bookingLatencyUnderLoginStorm() throws Exception {
+        String token = authenticationService.register(RegisterRequest.builder()
+                .firstname("Load")
+                .lastname("Guest")
+                .email("load@example.com")
+                .password("password")
+                .build()).getToken();
+
+        HttpRequest bookings = HttpRequest.newBuilder(URI.create(url("/api/v1/booking/me/all")))
+                .header("Authorization", "Bearer " + token)
+                .build();
+
+        report("idle", sample(bookings));
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ConcurrentHashMap<Integer, LongAdder> loginStatuses = new ConcurrentHashMap<>();
+        ExecutorService storm = Executors.newFixedThreadPool(LOGIN_CLIENTS);
+
+        HttpRequest login = HttpRequest.newBuilder(URI.create(url("/api/v1/auth/authenticate")))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"load@example.com\",\"password\":\"password\"}"))
+                .build();
+
+        for (int i = 0; i < LOGIN_CLIENTS; i++) {
+            storm.submit(() -> {
+                while (running.get()) {
+                    try {
+                        int status = client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        loginStatuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                    } catch (Exception e) {
+                        loginStatuses.computeIfAbsent(-1, s -> new LongAdder()).increment();
+                    }
+                }
+            });
+        }
+
+        Thread.sleep(2_000);
+        report("login storm", sample(bookings));
+
+        running.set(false);
+        storm.shutdown();
+        storm.awaitTermination(30, TimeUnit.SECONDS);
+
+        System.out.println("login responses by status: " + loginStatuses);
+    }
+
+    private long[] sample(HttpRequest request) throws Exception {
+        List<Long> latencies = new ArrayList<>();
+
+        for (int i = 0; i < SAMPLES; i++) {
+            long started = System.nanoTime();
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies.add(System.nanoTime() - started);
+        }
+
+        return latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private void report(String phase, long[] latencies) {
+        System.out.printf("%-12s booking p50=%6.1f ms p99=%7.1f ms max=%7.1f ms%n",
+                phase,
+                latencies[latencies.length / 2] / 1_000_000.0,
+                latencies[(int) (latencies.length * 0.99)] / 1_000_000.0,
+                Arrays.stream(latencies).max().orElse(0) / 1_000_000.0);
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+}
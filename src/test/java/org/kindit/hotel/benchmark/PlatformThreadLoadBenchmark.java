@@ -0,0 +1,7 @@
+package org.kindit.hotel.benchmark;
+
+/**
+ * {@link RequestLoadBenchmark} on Tomcat's default pool of 200 platform threads.
+ */
+class PlatformThreadLoadBenchmark extends RequestLoadBenchmark {
+}
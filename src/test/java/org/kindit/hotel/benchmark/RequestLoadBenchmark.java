@@ -0,0 +1,236 @@
+package org.kindit.hotel.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.kindit.hotel.Repository;
+import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.endpoits.auth.AuthenticationService;
+import org.kindit.hotel.endpoits.auth.request.RegisterRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Throughput and tail latency of the availability search, the booking listing
+ * and booking creation with many more concurrent clients than Tomcat has
+ * platform threads. Every JDBC statement is delayed by
+ * {@code benchmark.db-latency-ms} (default 10) so in-memory H2 behaves like a
+ * database across the network. See {@link PlatformThreadLoadBenchmark} and
+ * {@link VirtualThreadLoadBenchmark}; run each in its own JVM, since whichever
+ * runs second profits from the first one's JIT warm-up:
+ * {@code mvn test -Dbenchmark=true -Dtest=PlatformThreadLoadBenchmark}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(RequestLoadBenchmark.DatabaseLatency.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+abstract class RequestLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int ROOMS = 50;
+    private static final long WARMUP_MILLIS = 10_000;
+    private static final long MEASURE_MILLIS = 10_000;
+    private static final LocalDate START = LocalDate.now().plusYears(5);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Repository repository;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private Environment environment;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void loadBookingAndAvailabilityEndpoints() throws Exception {
+        List<Integer> roomIds = seedRooms();
+
+        String token = authenticationService.register(RegisterRequest.builder()
+                .firstname("Load")
+                .lastname("Guest")
+                .email("load" + System.nanoTime() + "@example.com")
+                .password("password")
+                .build()).getToken();
+
+        String mode = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                ? "virtual" : "platform";
+
+        run(mode, "availability", i -> HttpRequest.newBuilder(URI.create(url(
+                        "/api/v1/room/all/available?checkIn=" + START.plusDays(i % 300)
+                                + "&checkOut=" + START.plusDays(i % 300 + 3))))
+                .build());
+
+        run(mode, "my bookings", i -> HttpRequest.newBuilder(URI.create(url("/api/v1/booking/me/all")))
+                .header("Authorization", "Bearer " + token)
+                .build());
+
+        // Each request takes the next (room, night) slot, so creations do not collide.
+        AtomicInteger slot = new AtomicInteger();
+
+        run(mode, "create booking", i -> {
+            int next = slot.getAndIncrement();
+            LocalDate checkIn = START.plusDays(400L + (long) (next / roomIds.size()) * 2);
+
+            return HttpRequest.newBuilder(URI.create(url("/api/v1/booking/me")))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"roomId\":" + roomIds.get(next % roomIds.size())
+                            + ",\"checkInDate\":\"" + checkIn + "\",\"checkOutDate\":\"" + checkIn.plusDays(1)
+                            + "\",\"additionalServiceIds\":[]}"))
+                    .build();
+        });
+    }
+
+    private void run(String mode, String scenario, IntFunction<HttpRequest> requests) throws Exception {
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        AtomicInteger sequence = new AtomicInteger();
+
+        long warmupEnds = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WARMUP_MILLIS);
+        long measureEnds = warmupEnds + TimeUnit.MILLISECONDS.toNanos(MEASURE_MILLIS);
+
+        // Platform threads on purpose: virtual client threads would share the server's carrier threads.
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    long now;
+
+                    while ((now = System.nanoTime()) < measureEnds) {
+                        int status;
+
+                        try {
+                            status = client.send(requests.apply(sequence.getAndIncrement()),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+
+                        if (now >= warmupEnds) {
+                            latencies.add(System.nanoTime() - now);
+                            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                        }
+                    }
+
+                    return null;
+                });
+            }
+        }
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+
+        if (sorted.length == 0) {
+            System.out.printf("%-8s %-14s no request completed inside the window%n", mode, scenario);
+            return;
+        }
+
+        System.out.printf("%-8s %-14s %7.0f req/s p50=%7.1f ms p99=%7.1f ms max=%7.1f ms statuses=%s%n",
+                mode,
+                scenario,
+                sorted.length * 1000.0 / MEASURE_MILLIS,
+                sorted[sorted.length / 2] / 1_000_000.0,
+                sorted[(int) (sorted.length * 0.99)] / 1_000_000.0,
+                Arrays.stream(sorted).max().orElse(0) / 1_000_000.0,
+                statuses);
+    }
+
+    private List<Integer> seedRooms() {
+        List<Room> rooms = new ArrayList<>();
+
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(Room.builder()
+                    .number(10_000 + i)
+                    .name("Load " + i)
+                    .capacity(2)
+                    .pricePerNight(100)
+                    .isAvailable(true)
+                    .build());
+        }
+
+        return repository.getRoomRepository().saveAll(rooms).stream().map(Room::getId).toList();
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+
+    /**
+     * Delays every prepared statement execution to stand in for the network
+     * round trip to PostgreSQL.
+     */
+    @TestConfiguration
+    static class DatabaseLatency {
+
+        @Bean
+        static BeanPostProcessor slowDataSource(Environment environment) {
+            long delay = environment.getProperty("benchmark.db-latency-ms", Long.class, 10L);
+
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? delayed(DataSource.class, dataSource, delay) : bean;
+                }
+            };
+        }
+
+        private static <T> T delayed(Class<T> type, T target, long delay) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    Thread.sleep(delay);
+                }
+
+                Object result = invoke(method, target, args);
+
+                if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                    return delayed(Connection.class, connection, delay);
+                }
+
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return delayed(PreparedStatement.class, statement, delay);
+                }
+
+                return result;
+            }));
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.kindit.hotel.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.booking.BookingStatus;
+import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.endpoits.room.RoomAvailabilityIndex;
+import org.kindit.hotel.Repository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the old per-room availability loop with the single NOT EXISTS query
+ * and the in-memory index. Run with {@code mvn test -Dbenchmark=true -Dtest=RoomAvailabilityBenchmark}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RoomAvailabilityBenchmark {
+
+    private static final int BOOKINGS = 100_000;
+    private static final LocalDate START = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private Repository repository;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareAvailabilitySearch() {
+        for (int rooms : new int[]{1_000, 10_000}) {
+            seed(rooms);
+
+            LocalDate checkIn = START.plusDays(120);
+            LocalDate checkOut = checkIn.plusDays(3);
+
+            List<Room> legacy = measure("legacy per-room loop", rooms,
+                    () -> legacyAvailableRooms(checkIn, checkOut));
+            List<Room> sql = measure("single NOT EXISTS query", rooms,
+                    () -> repository.getRoomRepository().findAvailable(checkIn, checkOut, BookingStatus.ACTIVE));
+
+            availabilityIndex.rebuild();
+            List<Room> indexed = measure("in-memory index", rooms, () -> repository.getRoomRepository().findAll().stream()
+                    .filter(room -> availabilityIndex.isFree(room.getId(), checkIn, checkOut))
+                    .toList());
+
+            assertThat(sql).hasSameSizeAs(legacy);
+            assertThat(indexed).hasSameSizeAs(legacy);
+        }
+    }
+
+    private List<Room> legacyAvailableRooms(LocalDate checkIn, LocalDate checkOut) {
+        return repository.getRoomRepository().findAll().stream()
+                .filter(room -> {
+                    List<Booking> bookings = repository.getBookingRepository().findByRoomId(room.getId());
+
+                    return bookings.stream()
+                            .filter(b -> b.getStatus().isActive())
+                            .noneMatch(b -> !checkOut.isBefore(b.getCheckInDate()) && !checkIn.isAfter(b.getCheckOutDate()));
+                })
+                .toList();
+    }
+
+    private <T extends List<?>> T measure(String name, int rooms, Supplier<T> search) {
+        long started = System.nanoTime();
+        T result = search.get();
+        long elapsed = System.nanoTime() - started;
+
+        System.out.printf("%-26s rooms=%-6d bookings=%d available=%-6d %8.1f ms%n",
+                name, rooms, BOOKINGS, result.size(), elapsed / 1_000_000.0);
+
+        return result;
+    }
+
+    private void seed(int rooms) {
+        jdbcTemplate.update("delete from booking");
+        jdbcTemplate.update("delete from room");
+
+        List<Object[]> roomRows = new ArrayList<>();
+        for (int i = 1; i <= rooms; i++) {
+            roomRows.add(new Object[]{i, i, "Room " + i, 2, 100, true});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into room (id, number, name, capacity, price_per_night, is_available) values (?, ?, ?, ?, ?, ?)",
+                roomRows
+        );
+
+        Random random = new Random(42);
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Object[]> bookingRows = new ArrayList<>();
+        for (int i = 1; i <= BOOKINGS; i++) {
+            LocalDate checkIn = START.plusDays(random.nextInt(365));
+            bookingRows.add(new Object[]{
+                    i,
+                    1 + random.nextInt(rooms),
+                    Date.valueOf(checkIn),
+                    Date.valueOf(checkIn.plusDays(1 + random.nextInt(7))),
+                    statuses[random.nextInt(statuses.length)].name(),
+                    100
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into booking (id, room_id, check_in_date, check_out_date, status, total_price) values (?, ?, ?, ?, ?, ?)",
+                bookingRows
+        );
+    }
+}
@@ -0,0 +1,94 @@
+package org.kindit.hotel.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.kindit.hotel.data.booking.BookingStatus;
+import org.kindit.hotel.endpoits.room.RoomService;
+import org.kindit.hotel.endpoits.room.response.RoomCalendarResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the occupancy calendar for 2,000 rooms over 90 days.
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=RoomCalendarBenchmark}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RoomCalendarBenchmark {
+
+    private static final int ROOMS = 2_000;
+    private static final int BOOKINGS = 50_000;
+    private static final int RUNS = 20;
+    private static final LocalDate START = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void buildCalendar() {
+        seed();
+
+        LocalDate from = START.plusDays(100);
+        LocalDate to = from.plusDays(89);
+
+        RoomCalendarResponse calendar = null;
+        long best = Long.MAX_VALUE;
+
+        for (int i = 0; i < RUNS; i++) {
+            long started = System.nanoTime();
+            calendar = roomService.getCalendar(from, to);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+
+        long runs = calendar.rooms().stream().mapToLong(r -> r.runs().size()).sum();
+        System.out.printf("calendar rooms=%d days=90 bookings=%d runs=%d best of %d: %.1f ms%n",
+                ROOMS, BOOKINGS, runs, RUNS, best / 1_000_000.0);
+
+        assertThat(calendar.rooms()).hasSize(ROOMS);
+    }
+
+    private void seed() {
+        jdbcTemplate.update("delete from booking");
+        jdbcTemplate.update("delete from room");
+
+        List<Object[]> roomRows = new ArrayList<>();
+        for (int i = 1; i <= ROOMS; i++) {
+            roomRows.add(new Object[]{i, i, "Room " + i, 2, 100, true});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into room (id, number, name, capacity, price_per_night, is_available) values (?, ?, ?, ?, ?, ?)",
+                roomRows
+        );
+
+        Random random = new Random(42);
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Object[]> bookingRows = new ArrayList<>();
+        for (int i = 1; i <= BOOKINGS; i++) {
+            LocalDate checkIn = START.plusDays(random.nextInt(365));
+            bookingRows.add(new Object[]{
+                    i,
+                    1 + random.nextInt(ROOMS),
+                    Date.valueOf(checkIn),
+                    Date.valueOf(checkIn.plusDays(1 + random.nextInt(7))),
+                    statuses[random.nextInt(statuses.length)].name(),
+                    100
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into booking (id, room_id, check_in_date, check_out_date, status, total_price) values (?, ?, ?, ?, ?, ?)",
+                bookingRows
+        );
+    }
+}
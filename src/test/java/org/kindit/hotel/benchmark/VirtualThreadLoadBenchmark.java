@@ -0,0 +1,11 @@
+package org.kindit.hotel.benchmark;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * {@link RequestLoadBenchmark} with the {@code virtual-threads} profile: a virtual
+ * thread per request and the Hikari pool sized for it.
+ */
+@ActiveProfiles("virtual-threads")
+class VirtualThreadLoadBenchmark extends RequestLoadBenchmark {
+}
@@ -0,0 +1,86 @@
+package org.kindit.hotel.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    @Test
+    void burstIsLimitedPerClientAndRoute() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties());
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(status(filter, "/api/v1/room/all/available", "10.0.0.1")).isEqualTo(200);
+        }
+
+        MockHttpServletResponse rejected = call(filter, "/api/v1/room/all/available", "10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isNotNull();
+
+        assertThat(status(filter, "/api/v1/room/all/available", "10.0.0.2")).isEqualTo(200);
+        assertThat(status(filter, "/api/v1/booking/all", "10.0.0.1")).isEqualTo(200);
+    }
+
+    @Test
+    void idleBucketsAreEvicted() throws Exception {
+        RateLimitProperties properties = properties();
+        properties.setIdleTimeout(Duration.ZERO);
+        RateLimitFilter filter = new RateLimitFilter(properties);
+
+        for (int i = 0; i < 3; i++) {
+            call(filter, "/api/v1/room/all/available", "10.0.0.1");
+        }
+        assertThat(status(filter, "/api/v1/room/all/available", "10.0.0.1")).isEqualTo(429);
+
+        Thread.sleep(1_100);
+        filter.evictIdleBuckets();
+
+        assertThat(status(filter, "/api/v1/room/all/available", "10.0.0.1")).isEqualTo(200);
+    }
+
+    @Test
+    void clientsBeyondTheBoundDoNotShareABucket() throws Exception {
+        RateLimitProperties properties = properties();
+        properties.setMaxClients(2);
+        RateLimitFilter filter = new RateLimitFilter(properties);
+
+        for (int client = 1; client <= 5; client++) {
+            for (int i = 0; i < 3; i++) {
+                assertThat(status(filter, "/api/v1/room/all/available", "10.0.1." + client)).isEqualTo(200);
+            }
+        }
+
+        assertThat(filter.trackedClients()).isLessThanOrEqualTo(2);
+    }
+
+    private RateLimitProperties properties() {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPattern("/api/v1/room/all/available");
+        route.setCapacity(3);
+        route.setRefillPerSecond(1);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(route));
+        return properties;
+    }
+
+    private int status(RateLimitFilter filter, String uri, String client) throws Exception {
+        return call(filter, uri, client).getStatus();
+    }
+
+    private MockHttpServletResponse call(RateLimitFilter filter, String uri, String client) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(client);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,80 @@
+package org.kindit.hotel.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class RequestMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void serviceCallsAndSqlStatementsAreRecorded() throws Exception {
+        mockMvc.perform(get("/api/v1/room/all/available")
+                        .param("checkIn", "2032-01-10")
+                        .param("checkOut", "2032-01-12"))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("hotel.service")
+                .tag("class", "RoomService")
+                .tag("method", "getAllAvailableRoom")
+                .timer().count()).isPositive();
+
+        DistributionSummary statements = meterRegistry.get("hotel.http.sql.statements")
+                .tag("uri", "/api/v1/room/all/available")
+                .summary();
+
+        assertThat(statements.count()).isPositive();
+        assertThat(statements.max()).isPositive();
+    }
+
+    @Test
+    void hibernateAndPoolMetricsAreBound() {
+        assertThat(meterRegistry.find("hibernate.statements").meters()).isNotEmpty();
+        assertThat(meterRegistry.find("hikaricp.connections.active").meters()).isNotEmpty();
+    }
+
+    @Test
+    void prometheusNeedsTheScraperCredentials() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(authorities = "USER")
+    void prometheusIsClosedToRegularUsers() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void prometheusIsOpenToAdmins() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,80 @@
+package org.kindit.hotel.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kindit.hotel.HotelApplication;
+import org.kindit.hotel.Repository;
+import org.kindit.hotel.data.user.Role;
+import org.kindit.hotel.data.user.User;
+import org.kindit.hotel.endpoits.user.UserService;
+import org.kindit.hotel.endpoits.user.request.UserRequest;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application instances sharing one database, as behind a load balancer.
+ */
+class TokenRevocationAcrossInstancesTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void start() {
+        String url = "jdbc:h2:mem:revocation-" + UUID.randomUUID()
+                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+        nodeA = node(url);
+        nodeB = node(url);
+    }
+
+    @AfterAll
+    static void stop() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    private static ConfigurableApplicationContext node(String url) {
+        return new SpringApplicationBuilder(HotelApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--hotel.security.token-versions.ttl=300ms"
+        );
+    }
+
+    @Test
+    void versionBumpOnOneInstanceRevokesTokensOnTheOther() throws InterruptedException {
+        User user = nodeA.getBean(Repository.class).getUserRepository().save(User.builder()
+                .email("two-nodes@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+
+        UserService usersOnA = nodeA.getBean(UserService.class);
+        TokenRevocationRegistry registryOnB = nodeB.getBean(TokenRevocationRegistry.class);
+
+        assertThat(registryOnB.isCurrent(user.getId(), 0)).isTrue();
+
+        usersOnA.patch(user.getId(), UserRequest.builder().password("changed").build());
+
+        // A token issued by A after the bump is accepted by B straight away, and the old one is not.
+        assertThat(registryOnB.isCurrent(user.getId(), 1)).isTrue();
+        assertThat(registryOnB.isCurrent(user.getId(), 0)).isFalse();
+
+        usersOnA.patch(user.getId(), UserRequest.builder().password("changed again").build());
+
+        // B still holds version 1 until its entry expires.
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (registryOnB.isCurrent(user.getId(), 1) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(registryOnB.isCurrent(user.getId(), 1)).isFalse();
+        assertThat(registryOnB.isCurrent(user.getId(), 2)).isTrue();
+    }
+}
@@ -0,0 +1,54 @@
+package org.kindit.hotel.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.kindit.hotel.data.user.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationRegistryTest {
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private final UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+            UserRepository.class.getClassLoader(),
+            new Class<?>[]{UserRepository.class},
+            (proxy, method, args) -> {
+                reads.incrementAndGet();
+                // Only user 1 exists, at version 2.
+                return args[0].equals(1) ? Optional.of(2) : Optional.empty();
+            });
+
+    private final TokenRevocationRegistry registry =
+            new TokenRevocationRegistry(userRepository, Duration.ofMinutes(1), 100);
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void newerTokenForcesOneReread() {
+        assertThat(registry.isCurrent(1, 2)).isTrue();
+        assertThat(registry.isCurrent(1, 3)).isFalse();
+
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    void deletedUserIsRejectedFromTheCacheWithoutRereading() {
+        assertThat(registry.isCurrent(7, 0)).isFalse();
+        assertThat(registry.isCurrent(7, 5)).isFalse();
+        assertThat(registry.isCurrent(7, 6)).isFalse();
+
+        registry.revokeAll(1);
+
+        assertThat(registry.isCurrent(1, 3)).isFalse();
+        assertThat(reads).hasValue(1);
+    }
+}
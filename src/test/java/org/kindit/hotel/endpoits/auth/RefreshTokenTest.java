@@ -0,0 +1,39 @@
+package org.kindit.hotel.endpoits.auth;
+
+import org.junit.jupiter.api.Test;
+import org.kindit.hotel.endpoits.auth.request.RefreshRequest;
+import org.kindit.hotel.endpoits.auth.request.RegisterRequest;
+import org.kindit.hotel.endpoits.auth.response.AuthenticationResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RefreshTokenTest {
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Test
+    void refreshTokensRotateAndReuseRevokesTheChain() {
+        AuthenticationResponse login = authenticationService.register(RegisterRequest.builder()
+                .firstname("Refresh")
+                .lastname("Guest")
+                .email("refresh@example.com")
+                .password("password")
+                .build());
+
+        AuthenticationResponse rotated = authenticationService.refresh(new RefreshRequest(login.getRefreshToken()))
+                .orElseThrow();
+
+        assertThat(rotated.getToken()).isNotBlank();
+        assertThat(rotated.getRefreshToken()).isNotEqualTo(login.getRefreshToken());
+
+        // Replaying the first token is treated as theft: it fails and takes the newer one down with it.
+        assertThat(authenticationService.refresh(new RefreshRequest(login.getRefreshToken()))).isEmpty();
+        assertThat(authenticationService.refresh(new RefreshRequest(rotated.getRefreshToken()))).isEmpty();
+
+        assertThat(authenticationService.refresh(new RefreshRequest("unknown"))).isEmpty();
+    }
+}
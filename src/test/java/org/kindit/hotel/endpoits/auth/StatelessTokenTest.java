@@ -0,0 +1,55 @@
+package org.kindit.hotel.endpoits.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.kindit.hotel.endpoits.auth.request.RegisterRequest;
+import org.kindit.hotel.endpoits.auth.response.AuthenticationResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatelessTokenTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void logoutRevokesIssuedTokens() throws Exception {
+        RegisterRequest register = RegisterRequest.builder()
+                .firstname("Stateless")
+                .lastname("Guest")
+                .email("stateless@example.com")
+                .password("password")
+                .build();
+
+        String body = mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(register)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String token = "Bearer " + objectMapper.readValue(body, AuthenticationResponse.class).getToken();
+
+        mockMvc.perform(get("/api/v1/user/me").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstname").value("Stateless"));
+
+        mockMvc.perform(post("/api/v1/auth/logout").header("Authorization", token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/user/me").header("Authorization", token))
+                .andExpect(status().isForbidden());
+    }
+}
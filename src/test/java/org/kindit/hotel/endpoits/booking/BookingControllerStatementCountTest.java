@@ -0,0 +1,109 @@
+package org.kindit.hotel.endpoits.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kindit.hotel.Repository;
+import org.kindit.hotel.data.additionalService.AdditionalService;
+import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.booking.BookingStatus;
+import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.data.user.Role;
+import org.kindit.hotel.data.user.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ADMIN")
+class BookingControllerStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Repository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        repository.getBookingRepository().deleteAll();
+    }
+
+    @Test
+    void bookingPageIssuesConstantNumberOfStatements() throws Exception {
+        createBookings(3);
+        long smallPage = statementsFor("/api/v1/booking/all?size=3");
+        long smallDetail = statementsFor("/api/v1/booking/" + firstBookingId());
+
+        createBookings(27);
+        long largePage = statementsFor("/api/v1/booking/all?size=30");
+        long largeDetail = statementsFor("/api/v1/booking/" + firstBookingId());
+
+        assertThat(largePage).isEqualTo(smallPage);
+        assertThat(largeDetail).isEqualTo(smallDetail);
+    }
+
+    // Starts from a cold second-level cache so both requests load the room catalog the same way.
+    private long statementsFor(String url) throws Exception {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Integer firstBookingId() {
+        return repository.getBookingRepository().findAll().get(0).getId();
+    }
+
+    private void createBookings(int count) {
+        for (int i = 0; i < count; i++) {
+            AdditionalService service = repository.getAdditionalServiceRepository().save(AdditionalService.builder()
+                    .name("Service " + i)
+                    .price(10)
+                    .build());
+
+            User user = repository.getUserRepository().save(User.builder()
+                    .email("guest" + System.nanoTime() + "@example.com")
+                    .firstname("Guest")
+                    .lastname("Number " + i)
+                    .password("password")
+                    .role(Role.USER)
+                    .build());
+
+            Room room = repository.getRoomRepository().save(Room.builder()
+                    .number(100 + i)
+                    .name("Room " + i)
+                    .pricePerNight(100)
+                    .additionalServices(List.of(service))
+                    .build());
+
+            repository.getBookingRepository().save(Booking.builder()
+                    .user(user)
+                    .room(room)
+                    .checkInDate(LocalDate.now().plusDays(i))
+                    .checkOutDate(LocalDate.now().plusDays(i + 1))
+                    .additionalServices(List.of(service))
+                    .status(BookingStatus.PENDING)
+                    .totalPrice(110)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package org.kindit.hotel.endpoits.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.kindit.hotel.Repository;
+import org.kindit.hotel.data.additionalService.AdditionalService;
+import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.booking.BookingStatus;
+import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.data.user.Role;
+import org.kindit.hotel.data.user.User;
+import org.kindit.hotel.endpoits.CursorPage;
+import org.kindit.hotel.endpoits.booking.response.BookingResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ADMIN")
+class BookingListingTest {
+
+    private static final LocalDate START = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private Repository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String tag;
+    private User guest;
+    private User otherGuest;
+    private Room room;
+
+    @BeforeEach
+    void setUp() {
+        tag = "list" + System.nanoTime();
+        guest = user(tag + "-guest@example.com");
+        otherGuest = user(tag + "-other@example.com");
+        room = repository.getRoomRepository().save(Room.builder()
+                .number(7000)
+                .name("Listing")
+                .capacity(2)
+                .pricePerNight(100)
+                .build());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/v1/booking/all?size=0",
+            "/api/v1/booking/all?size=-1",
+            "/api/v1/booking/all?page=-1",
+            "/api/v1/booking/all?cursor=&size=0",
+            "/api/v1/booking/all?cursor=&size=-5",
+            "/api/v1/booking/me/all?size=0",
+            "/api/v1/booking/me/all?cursor=&size=0",
+            "/api/v1/booking/me/all?cursor=&size=1000",
+            "/api/v1/user/all?cursor=&size=0"
+    })
+    void pageSizeOutsideOneToMaxIsRejected(String url) throws Exception {
+        mockMvc.perform(get(url)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void offsetPagesKeepAcceptingLargeSizes() throws Exception {
+        mockMvc.perform(get("/api/v1/booking/all?size=500")).andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/v1/booking/all?cursor=%25%25%25",
+            "/api/v1/booking/all?cursor=NDJ8NDI",
+            "/api/v1/user/all?cursor=bm90LWFuLWlk"
+    })
+    void malformedCursorIsABadRequest(String url) throws Exception {
+        mockMvc.perform(get(url)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void malformedGuestCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/booking/me/all?cursor=c29vbnw0Mg")
+                        .with(SecurityMockMvcRequestPostProcessors.user(guest)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void statusAndEmailFiltersApplyTogether() {
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            pending.add(book(guest, START.plusDays(i * 10), BookingStatus.PENDING).getId());
+        }
+        book(guest, START.plusDays(40), BookingStatus.CANCELLED);
+        book(otherGuest, START.plusDays(50), BookingStatus.PENDING);
+
+        Page<BookingResponse> page = bookingService.getAll(
+                0, 10, "PENDING", tag + "-guest", null, null, null, null);
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(BookingResponse::getId).containsExactlyElementsOf(pending);
+        assertThat(page.getContent()).allSatisfy(b -> {
+            assertThat(b.getStatus()).isEqualTo(BookingStatus.PENDING);
+            assertThat(b.getUser().email()).isEqualTo(guest.getEmail());
+        });
+
+        // The email filter is a case-insensitive substring match over both guests.
+        assertThat(bookingService.getAll(0, 10, null, tag.toUpperCase(), null, null, null, null)
+                .getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    void filterWildcardsMatchThemselves() {
+        User underscored = user(tag + "_under@example.com");
+        Booking booking = book(underscored, START, BookingStatus.PENDING);
+        book(guest, START.plusDays(10), BookingStatus.PENDING);
+
+        assertThat(bookingService.getAll(0, 10, null, tag + "_", null, null, null, null).getContent())
+                .extracting(BookingResponse::getId).containsExactly(booking.getId());
+        assertThat(bookingService.getAll(0, 10, null, tag + "%", null, null, null, null).getTotalElements())
+                .isZero();
+        assertThat(bookingService.getAll(0, 10, null, tag + "\\", null, null, null, null).getTotalElements())
+                .isZero();
+    }
+
+    @Test
+    void pagesFollowIdOrderWithoutGapsOrRepeats() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(book(guest, START.plusDays(40 - i * 10), BookingStatus.CONFIRMED).getId());
+        }
+        ids.sort(Comparator.naturalOrder());
+
+        List<Integer> seen = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            Page<BookingResponse> result = bookingService.getAll(page, 2, null, tag, null, null, null, null);
+
+            assertThat(result.getTotalElements()).isEqualTo(5);
+            assertThat(result.getTotalPages()).isEqualTo(3);
+            result.getContent().forEach(b -> seen.add(b.getId()));
+        }
+
+        assertThat(seen).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void checkInRangeIsInclusiveAndUnknownStatusIsRejected() {
+        book(guest, START, BookingStatus.PENDING);
+        Booking middle = book(guest, START.plusDays(10), BookingStatus.PENDING);
+        Booking last = book(guest, START.plusDays(20), BookingStatus.PENDING);
+
+        assertThat(bookingService.getAll(0, 10, null, tag, null, null, START.plusDays(10), START.plusDays(20))
+                .getContent()).extracting(BookingResponse::getId).containsExactly(middle.getId(), last.getId());
+
+        assertThatThrownBy(() -> bookingService.getAll(0, 10, "BOOKED", tag, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void listingSelectsRowsWithoutLoadingEntities() {
+        AdditionalService breakfast = repository.getAdditionalServiceRepository().save(AdditionalService.builder()
+                .name("Breakfast")
+                .description("Not part of the listing")
+                .price(15)
+                .build());
+
+        Booking booking = repository.getBookingRepository().save(Booking.builder()
+                .user(guest)
+                .room(room)
+                .checkInDate(START)
+                .checkOutDate(START.plusDays(2))
+                .additionalServices(List.of(breakfast))
+                .status(BookingStatus.PENDING)
+                .totalPrice(215)
+                .build());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BookingResponse response = bookingService.getAll(0, 10, null, tag, null, null, null, null)
+                .getContent().get(0);
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(response.getId()).isEqualTo(booking.getId());
+        assertThat(response.getRoom().number()).isEqualTo(7000);
+        assertThat(response.getAdditionalServices())
+                .containsExactly(new BookingResponse.ServiceSummary(breakfast.getId(), "Breakfast", 15));
+    }
+
+    @Test
+    void guestSeesOnlyOwnBookingsNewestFirst() {
+        Booking early = book(guest, START, BookingStatus.CONFIRMED);
+        Booking tieA = book(guest, START.plusDays(10), BookingStatus.PENDING);
+        Booking tieB = book(guest, START.plusDays(10), BookingStatus.PENDING);
+        book(otherGuest, START.plusDays(20), BookingStatus.PENDING);
+
+        signIn(guest);
+
+        assertThat(bookingService.getAllMy(0, 10, null, null, null).getContent())
+                .extracting(BookingResponse::getId)
+                .containsExactly(tieB.getId(), tieA.getId(), early.getId());
+    }
+
+    @Test
+    void guestFiltersRunBeforePaging() {
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Booking booking = book(guest, START.plusDays(i * 10), i % 2 == 0 ? BookingStatus.PENDING : BookingStatus.CANCELLED);
+            if (booking.getStatus() == BookingStatus.PENDING) {
+                pending.add(0, booking.getId());
+            }
+        }
+
+        signIn(guest);
+
+        Page<BookingResponse> first = bookingService.getAllMy(0, 2, "PENDING", null, null);
+        Page<BookingResponse> second = bookingService.getAllMy(1, 2, "PENDING", null, null);
+
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(first.getContent()).extracting(BookingResponse::getId).containsExactlyElementsOf(pending.subList(0, 2));
+        assertThat(second.getContent()).extracting(BookingResponse::getId).containsExactly(pending.get(2));
+
+        assertThat(bookingService.getAllMy(0, 10, "PENDING", START.plusDays(10), START.plusDays(40)).getContent())
+                .extracting(BookingResponse::getId)
+                .containsExactly(pending.get(0), pending.get(1));
+    }
+
+    @Test
+    void adminCursorWalksEveryFilteredBookingOnceInIdOrder() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(book(i % 3 == 0 ? otherGuest : guest, START.plusDays(60 - i * 5), BookingStatus.PENDING).getId());
+        }
+        book(guest, START, BookingStatus.CANCELLED);
+
+        List<Integer> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+
+        do {
+            CursorPage<BookingResponse> page = bookingService.getAllByCursor(
+                    cursor, 3, "PENDING", tag, null, null, null, null);
+            page.getContent().forEach(b -> seen.add(b.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void guestCursorKeepsBookingsThatShareACheckInDate() {
+        // Five bookings on the same day straddle the page boundaries.
+        List<Booking> bookings = new ArrayList<>();
+        bookings.add(book(guest, START.plusDays(30), BookingStatus.PENDING));
+        for (int i = 0; i < 5; i++) {
+            bookings.add(book(guest, START.plusDays(20), BookingStatus.CONFIRMED));
+        }
+        bookings.add(book(guest, START, BookingStatus.PENDING));
+        book(otherGuest, START.plusDays(20), BookingStatus.PENDING);
+
+        List<Integer> expected = bookings.stream()
+                .sorted(Comparator.comparing(Booking::getCheckInDate).thenComparing(Booking::getId).reversed())
+                .map(Booking::getId)
+                .toList();
+
+        signIn(guest);
+
+        List<Integer> seen = new ArrayList<>();
+        String cursor = "";
+
+        do {
+            CursorPage<BookingResponse> page = bookingService.getAllMyByCursor(cursor, 2, null, null, null);
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(2);
+            page.getContent().forEach(b -> seen.add(b.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void lastPageHasNoCursorAndTamperedCursorsAreRejected() {
+        book(guest, START, BookingStatus.PENDING);
+        book(guest, START.plusDays(10), BookingStatus.PENDING);
+
+        signIn(guest);
+
+        CursorPage<BookingResponse> exact = bookingService.getAllMyByCursor("", 2, null, null, null);
+        assertThat(exact.getContent()).hasSize(2);
+        assertThat(exact.getNextCursor()).isNull();
+
+        String wrongShape = CursorPage.encode(List.of(42));
+        String notADate = CursorPage.encode(List.of("soon", 42));
+
+        assertThatThrownBy(() -> bookingService.getAllMyByCursor(wrongShape, 2, null, null, null))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> bookingService.getAllMyByCursor(notADate, 2, null, null, null))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> bookingService.getAllByCursor("%%%", 2, null, null, null, null, null, null))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private User user(String email) {
+        return repository.getUserRepository().save(User.builder()
+                .email(email)
+                .firstname("List")
+                .lastname("Guest")
+                .password("password")
+                .role(Role.USER)
+                .build());
+    }
+
+    private void signIn(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private Booking book(User user, LocalDate checkIn, BookingStatus status) {
+        return repository.getBookingRepository().save(Booking.builder()
+                .user(user)
+                .room(room)
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(2))
+                .status(status)
+                .totalPrice(200)
+                .build());
+    }
+}
@@ -0,0 +1,144 @@
+package org.kindit.hotel.endpoits.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kindit.hotel.Repository;
+import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.data.user.Role;
+import org.kindit.hotel.data.user.User;
+import org.kindit.hotel.endpoits.booking.request.BookingRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingServiceBatchTest {
+
+    private static final int LINES = 200;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private Repository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    private User user;
+
+    private final List<Integer> roomIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        user = repository.getUserRepository().save(User.builder()
+                .email("group" + System.nanoTime() + "@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+
+        roomIds.clear();
+        for (int i = 0; i < 20; i++) {
+            Room room = repository.getRoomRepository().save(Room.builder()
+                    .number((int) (System.nanoTime() % 1_000_000))
+                    .name("Group " + i)
+                    .capacity(2)
+                    .pricePerNight(100)
+                    .build());
+            roomIds.add(room.getId());
+        }
+    }
+
+    @Test
+    void batchIsInsertedWithFewStatements() {
+        List<BookingRequest> requests = new ArrayList<>();
+        LocalDate start = LocalDate.now().plusDays(1);
+
+        for (int i = 0; i < LINES; i++) {
+            LocalDate checkIn = start.plusDays((i / roomIds.size()) * 3L);
+            requests.add(line(roomIds.get(i % roomIds.size()), checkIn, checkIn.plusDays(1)));
+        }
+
+        statistics.clear();
+        List<Booking> saved = bookingService.createBatch(requests);
+
+        assertThat(saved).hasSize(LINES);
+        assertThat(saved).allSatisfy(b -> assertThat(b.getId()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(LINES / 2);
+    }
+
+    @Test
+    void overlappingLinesRejectTheWholeBatch() {
+        LocalDate checkIn = LocalDate.now().plusDays(500);
+        long before = repository.getBookingRepository().count();
+
+        List<BookingRequest> requests = List.of(
+                line(roomIds.get(0), checkIn, checkIn.plusDays(2)),
+                line(roomIds.get(1), checkIn, checkIn.plusDays(2)),
+                line(roomIds.get(0), checkIn.plusDays(1), checkIn.plusDays(3))
+        );
+
+        assertThatThrownBy(() -> bookingService.createBatch(requests))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(repository.getBookingRepository().count()).isEqualTo(before);
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void oversizedBatchIsRejectedBeforeAnyWork() throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(600);
+        long before = repository.getBookingRepository().count();
+
+        List<BookingRequest> requests = new ArrayList<>();
+        for (int i = 0; i <= BookingService.MAX_BATCH_SIZE; i++) {
+            requests.add(line(roomIds.get(i % roomIds.size()), checkIn.plusDays(i * 3L), checkIn.plusDays(i * 3L + 1)));
+        }
+
+        mockMvc.perform(post("/api/v1/booking/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isBadRequest());
+
+        assertThatThrownBy(() -> bookingService.createBatch(requests))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(repository.getBookingRepository().count()).isEqualTo(before);
+    }
+
+    private BookingRequest line(Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        BookingRequest request = new BookingRequest();
+        request.setUserId(user.getId());
+        request.setRoomId(roomId);
+        request.setCheckInDate(checkIn);
+        request.setCheckOutDate(checkOut);
+        request.setAdditionalServiceIds(List.of());
+        return request;
+    }
+}
@@ -0,0 +1,119 @@
+package org.kindit.hotel.endpoits.booking;
+
+import org.junit.jupiter.api.Test;
+import org.kindit.hotel.Repository;
+import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.data.user.Role;
+import org.kindit.hotel.data.user.User;
+import org.kindit.hotel.endpoits.booking.request.BookingRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 100;
+    private static final int ROOMS = 32;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private Repository repository;
+
+    @Test
+    void concurrentBookingsNeverOverlap() throws Exception {
+        User user = repository.getUserRepository().save(User.builder()
+                .email("stress@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+
+        List<Integer> roomIds = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = repository.getRoomRepository().save(Room.builder()
+                    .number(9000 + i)
+                    .name("Stress " + i)
+                    .capacity(2)
+                    .pricePerNight(100)
+                    .build());
+            roomIds.add(room.getId());
+        }
+
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        LocalDate start = LocalDate.now().plusDays(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        long started = System.nanoTime();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    LocalDate checkIn = start.plusDays(random.nextInt(60));
+
+                    BookingRequest request = new BookingRequest();
+                    request.setUserId(user.getId());
+                    request.setRoomId(roomIds.get(random.nextInt(ROOMS)));
+                    request.setCheckInDate(checkIn);
+                    request.setCheckOutDate(checkIn.plusDays(1 + random.nextInt(4)));
+                    request.setAdditionalServiceIds(List.of());
+
+                    try {
+                        bookingService.create(request);
+                        admitted.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        System.out.printf("Booking admission: %d admitted, %d rejected, %.0f attempts/s%n",
+                admitted.get(), rejected.get(), (admitted.get() + rejected.get()) / seconds);
+
+        Map<Integer, List<Booking>> bookingsByRoom = repository.getBookingRepository().findAll().stream()
+                .filter(b -> roomIds.contains(b.getRoom().getId()))
+                .collect(Collectors.groupingBy(b -> b.getRoom().getId()));
+
+        assertThat(bookingsByRoom.values().stream().mapToInt(List::size).sum()).isEqualTo(admitted.get());
+
+        for (List<Booking> bookings : bookingsByRoom.values()) {
+            for (int i = 0; i < bookings.size(); i++) {
+                for (int j = i + 1; j < bookings.size(); j++) {
+                    Booking a = bookings.get(i);
+                    Booking b = bookings.get(j);
+
+                    assertThat(!a.getCheckInDate().isAfter(b.getCheckOutDate())
+                            && !a.getCheckOutDate().isBefore(b.getCheckInDate()))
+                            .as("bookings %d and %d overlap", a.getId(), b.getId())
+                            .isFalse();
+                }
+            }
+        }
+    }
+}
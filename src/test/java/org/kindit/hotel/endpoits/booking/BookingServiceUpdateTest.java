@@ -0,0 +1,171 @@
+package org.kindit.hotel.endpoits.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kindit.hotel.Repository;
+import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.booking.BookingStatus;
+import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.data.user.Role;
+import org.kindit.hotel.data.user.User;
+import org.kindit.hotel.endpoits.booking.request.BookingRequest;
+import org.kindit.hotel.endpoits.room.RoomAvailabilityIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BookingServiceUpdateTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusYears(5);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private Repository repository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = repository.getUserRepository().save(User.builder()
+                .email("edit" + System.nanoTime() + "@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+    }
+
+    @Test
+    void bookingCanBeExtendedOverItsOwnDates() {
+        Room room = room();
+        Booking booking = book(room, CHECK_IN, CHECK_IN.plusDays(2));
+
+        BookingRequest extend = new BookingRequest();
+        extend.setCheckOutDate(CHECK_IN.plusDays(4));
+
+        Booking updated = bookingService.update(booking.getId(), extend).orElseThrow();
+
+        assertThat(updated.getCheckOutDate()).isEqualTo(CHECK_IN.plusDays(4));
+        assertThat(updated.getTotalPrice()).isEqualTo(400);
+        assertThat(availabilityIndex.isFree(room.getId(), CHECK_IN.plusDays(3), CHECK_IN.plusDays(3))).isFalse();
+
+        Booking refreshed = bookingService.refresh(booking.getId(),
+                request(room, CHECK_IN.plusDays(1), CHECK_IN.plusDays(3))).orElseThrow();
+
+        assertThat(refreshed.getCheckInDate()).isEqualTo(CHECK_IN.plusDays(1));
+    }
+
+    @Test
+    void cancelledBookingsDoNotBlockAMove() {
+        Room from = room();
+        Room to = room();
+        Booking cancelled = book(to, CHECK_IN, CHECK_IN.plusDays(2));
+        bookingService.cancel(cancelled.getId());
+
+        Booking booking = book(from, CHECK_IN, CHECK_IN.plusDays(2));
+
+        Booking moved = bookingService.refresh(booking.getId(), request(to, CHECK_IN, CHECK_IN.plusDays(2)))
+                .orElseThrow();
+
+        assertThat(moved.getRoom().getId()).isEqualTo(to.getId());
+        assertThat(availabilityIndex.isFree(from.getId(), CHECK_IN, CHECK_IN.plusDays(2))).isTrue();
+        assertThat(availabilityIndex.isFree(to.getId(), CHECK_IN, CHECK_IN.plusDays(2))).isFalse();
+    }
+
+    @Test
+    void moveOntoAnOccupiedRoomIsRejectedAndChangesNothing() {
+        Room from = room();
+        Room to = room();
+        book(to, CHECK_IN.plusDays(1), CHECK_IN.plusDays(3));
+        Booking booking = book(from, CHECK_IN, CHECK_IN.plusDays(2));
+
+        BookingRequest move = new BookingRequest();
+        move.setRoomId(to.getId());
+
+        assertThatThrownBy(() -> bookingService.update(booking.getId(), move))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(bookingService.get(booking.getId()).orElseThrow().getRoom().getId()).isEqualTo(from.getId());
+        assertThat(availabilityIndex.isFree(from.getId(), CHECK_IN, CHECK_IN)).isFalse();
+    }
+
+    @Test
+    void concurrentMovesIntoTheSameDatesAdmitOnlyOne() throws Exception {
+        int movers = 8;
+        Room target = room();
+        List<Integer> bookingIds = new ArrayList<>();
+
+        for (int i = 0; i < movers; i++) {
+            bookingIds.add(book(room(), CHECK_IN, CHECK_IN.plusDays(2)).getId());
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(movers);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (Integer bookingId : bookingIds) {
+            Callable<Boolean> move = () -> {
+                start.await();
+                try {
+                    bookingService.refresh(bookingId, request(target, CHECK_IN, CHECK_IN.plusDays(2)));
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            };
+            results.add(executor.submit(move));
+        }
+
+        start.countDown();
+
+        int moved = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                moved++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(moved).isEqualTo(1);
+        assertThat(repository.getBookingRepository()
+                .findByRoomIdAndStatusIn(target.getId(), BookingStatus.ACTIVE)).hasSize(1);
+    }
+
+    private Room room() {
+        return repository.getRoomRepository().save(Room.builder()
+                .number((int) (System.nanoTime() % 1_000_000))
+                .name("Edit")
+                .capacity(2)
+                .pricePerNight(100)
+                .build());
+    }
+
+    private Booking book(Room room, LocalDate checkIn, LocalDate checkOut) {
+        return bookingService.create(request(room, checkIn, checkOut)).orElseThrow();
+    }
+
+    private BookingRequest request(Room room, LocalDate checkIn, LocalDate checkOut) {
+        BookingRequest request = new BookingRequest();
+        request.setUserId(user.getId());
+        request.setRoomId(room.getId());
+        request.setCheckInDate(checkIn);
+        request.setCheckOutDate(checkOut);
+        request.setAdditionalServiceIds(List.of());
+        return request;
+    }
+}
@@ -0,0 +1,135 @@
+package org.kindit.hotel.endpoits.image;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageHandlerTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ImageHandler handler = new ImageHandler(
+            new ImageCache(DataSize.ofBytes(100), DataSize.ofBytes(50), meterRegistry));
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(directory.resolve("photo.png"), "0123456789", StandardCharsets.US_ASCII);
+        Files.writeString(directory.getParent().resolve("secret.txt"), "secret");
+    }
+
+    @Test
+    void servesWholeFileWithValidators() throws Exception {
+        MockHttpServletResponse response = serve("photo.png", new MockHttpServletRequest("GET", "/image"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        assertThat(response.getHeader("ETag")).startsWith("\"").hasSize(66);
+        assertThat(response.getHeader("Cache-Control")).contains("immutable");
+        assertThat(response.getHeader("Last-Modified")).isNotNull();
+    }
+
+    @Test
+    void answersConditionalRequestWithNotModified() throws Exception {
+        String etag = serve("photo.png", new MockHttpServletRequest("GET", "/image")).getHeader("ETag");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = serve("photo.png", request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void servesSingleRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse response = serve("photo.png", request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+
+        request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader("Range", "bytes=20-");
+        response = serve("photo.png", request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void servesHotImagesFromMemoryUntilEvicted() throws Exception {
+        Path photo = directory.resolve("photo.png");
+        serve("photo.png", new MockHttpServletRequest("GET", "/image"));
+        serve("photo.png", new MockHttpServletRequest("GET", "/image"));
+
+        Files.writeString(photo, "9876543210", StandardCharsets.US_ASCII);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/image");
+        request.addHeader("Range", "bytes=2-5");
+
+        assertThat(serve("photo.png", request).getContentAsString()).isEqualTo("2345");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "images").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+
+        handler.evict(photo);
+
+        assertThat(serve("photo.png", new MockHttpServletRequest("GET", "/image")).getContentAsString())
+                .isEqualTo("9876543210");
+    }
+
+    @Test
+    void cachesAnImageOnlyOnItsSecondMiss() throws Exception {
+        Path photo = directory.resolve("photo.png");
+        serve("photo.png", new MockHttpServletRequest("GET", "/image"));
+
+        Files.writeString(photo, "abcdefghij", StandardCharsets.US_ASCII);
+
+        assertThat(serve("photo.png", new MockHttpServletRequest("GET", "/image")).getContentAsString())
+                .isEqualTo("abcdefghij");
+
+        Files.writeString(photo, "ABCDEFGHIJ", StandardCharsets.US_ASCII);
+
+        assertThat(serve("photo.png", new MockHttpServletRequest("GET", "/image")).getContentAsString())
+                .isEqualTo("abcdefghij");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "images").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void streamsFilesAboveTheEntryLimitFromDisk() throws Exception {
+        Files.writeString(directory.resolve("large.png"), "x".repeat(80), StandardCharsets.US_ASCII);
+        serve("large.png", new MockHttpServletRequest("GET", "/image"));
+
+        Files.writeString(directory.resolve("large.png"), "y".repeat(80), StandardCharsets.US_ASCII);
+
+        assertThat(serve("large.png", new MockHttpServletRequest("GET", "/image")).getContentAsString())
+                .isEqualTo("y".repeat(80));
+    }
+
+    @Test
+    void refusesPathsOutsideTheDirectory() throws Exception {
+        MockHttpServletResponse response = serve("../secret.txt", new MockHttpServletRequest("GET", "/image"));
+
+        assertThat(response.getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse serve(String filename, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.serve(directory, filename, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,138 @@
+package org.kindit.hotel.endpoits.image;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageRenditionsTest {
+
+    @TempDir
+    Path directory;
+
+    private final ImageRenditions renditions = new ImageRenditions(List.of(800, 200), 4_000_000, 1, 10);
+
+    @AfterEach
+    void tearDown() {
+        renditions.shutdown();
+    }
+
+    @Test
+    void rendersOnlyWidthsSmallerThanTheOriginal() throws Exception {
+        Path original = write("photo.png", 400, 300);
+
+        renditions.renderNow(original);
+
+        BufferedImage small = ImageIO.read(directory.resolve("w200/photo.png").toFile());
+        assertThat(small.getWidth()).isEqualTo(200);
+        assertThat(small.getHeight()).isEqualTo(150);
+        assertThat(directory.resolve("w800/photo.png")).doesNotExist();
+    }
+
+    @Test
+    void picksNearestRenditionAndFallsBackToOriginal() throws Exception {
+        Path original = write("photo.jpg", 1000, 500);
+
+        assertThat(renditions.directoryFor(directory, "photo.jpg", 150)).isEqualTo(directory);
+
+        renditions.renderNow(original);
+
+        assertThat(renditions.directoryFor(directory, "photo.jpg", 150)).isEqualTo(directory.resolve("w200"));
+        assertThat(renditions.directoryFor(directory, "photo.jpg", 500)).isEqualTo(directory.resolve("w800"));
+        assertThat(renditions.directoryFor(directory, "photo.jpg", 2000)).isEqualTo(directory);
+        assertThat(renditions.directoryFor(directory, "photo.jpg", null)).isEqualTo(directory);
+    }
+
+    @Test
+    void ignoresFilesThatAreNotImages() throws Exception {
+        Path original = Files.writeString(directory.resolve("notes.png"), "not an image");
+
+        renditions.renderNow(original);
+
+        assertThat(directory.resolve("w200")).doesNotExist();
+    }
+
+    @Test
+    void subsampledDecodeKeepsTheOriginalProportions() throws Exception {
+        Path original = write("wide.png", 1700, 850);
+
+        renditions.renderNow(original);
+
+        BufferedImage large = ImageIO.read(directory.resolve("w800/wide.png").toFile());
+        assertThat(large.getWidth()).isEqualTo(800);
+        assertThat(large.getHeight()).isEqualTo(400);
+    }
+
+    @Test
+    void skipsImagesAboveThePixelCapWithoutDecodingThem() throws Exception {
+        ImageRenditions capped = new ImageRenditions(List.of(200), 100_000, 1, 10);
+        Path original = write("huge.png", 400, 300);
+
+        try {
+            capped.renderNow(original);
+        } finally {
+            capped.shutdown();
+        }
+
+        assertThat(directory.resolve("w200")).doesNotExist();
+    }
+
+    @Test
+    void originalsSkippedWhileThePoolIsFullAreRenderedOnRetry() throws Exception {
+        ImageRenditions saturated = new ImageRenditions(List.of(200), 4_000_000, 1, 1);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(saturated, "executor");
+        CountDownLatch release = new CountDownLatch(1);
+        Path original = write("busy.png", 400, 300);
+
+        try {
+            // One task on the worker and one in the queue leave no room for the upload.
+            for (int i = 0; i < 2; i++) {
+                executor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            saturated.render(original);
+            release.countDown();
+
+            awaitIdle(executor);
+            assertThat(directory.resolve("w200/busy.png")).doesNotExist();
+
+            saturated.retrySkipped();
+
+            awaitIdle(executor);
+            assertThat(directory.resolve("w200/busy.png")).exists();
+        } finally {
+            saturated.shutdown();
+        }
+    }
+
+    private static void awaitIdle(ThreadPoolExecutor executor) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+
+        while (executor.getCompletedTaskCount() < executor.getTaskCount() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Path write(String name, int width, int height) throws Exception {
+        Path file = directory.resolve(name);
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB),
+                name.substring(name.lastIndexOf('.') + 1), file.toFile());
+        return file;
+    }
+}
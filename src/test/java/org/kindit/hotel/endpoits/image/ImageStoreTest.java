@@ -0,0 +1,77 @@
+package org.kindit.hotel.endpoits.image;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final ImageRenditions renditions = new ImageRenditions(List.of(200), 4_000_000, 1, 10);
+
+    private final ImageHandler handler = new ImageHandler(
+            new ImageCache(DataSize.ofMegabytes(1), DataSize.ofMegabytes(1), new SimpleMeterRegistry()));
+
+    private final ImageStore store = new ImageStore(null, renditions, handler, Duration.ofHours(1));
+
+    @AfterEach
+    void tearDown() {
+        renditions.shutdown();
+    }
+
+    @Test
+    void sameContentIsStoredOnce() throws Exception {
+        String first = store.save(directory, upload("room.PNG", "same bytes"));
+        String second = store.save(directory, upload("copy.png", "same bytes"));
+        String other = store.save(directory, upload("other.png", "other bytes"));
+
+        assertThat(first).isEqualTo(second).matches("[0-9a-f]{64}\\.png");
+        assertThat(other).isNotEqualTo(first);
+        assertThat(Files.list(directory)).hasSize(2);
+    }
+
+    @Test
+    void sweepRemovesOnlyOldUnreferencedFiles() throws Exception {
+        Path referenced = age(Files.writeString(directory.resolve("kept.png"), "kept"));
+        Path orphan = age(Files.writeString(directory.resolve("orphan.png"), "orphan"));
+        Path fresh = Files.writeString(directory.resolve("fresh.png"), "fresh");
+
+        Files.createDirectories(directory.resolve("w200"));
+        Path orphanRendition = Files.writeString(directory.resolve("w200/orphan.png"), "small");
+        Path keptRendition = age(Files.writeString(directory.resolve("w200/kept.png"), "small"));
+
+        int deleted = store.sweep(directory, Set.of("kept.png"));
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(orphan).doesNotExist();
+        assertThat(orphanRendition).doesNotExist();
+        assertThat(referenced).exists();
+        assertThat(keptRendition).exists();
+        assertThat(fresh).exists();
+    }
+
+    private static MockMultipartFile upload(String name, String content) {
+        return new MockMultipartFile("image", name, "image/png", content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Path age(Path file) throws Exception {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+        return file;
+    }
+}
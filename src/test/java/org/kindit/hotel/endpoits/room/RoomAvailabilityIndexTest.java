@@ -0,0 +1,164 @@
+package org.kindit.hotel.endpoits.room;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.booking.BookingRepository;
+import org.kindit.hotel.data.booking.BookingStatus;
+import org.kindit.hotel.data.booking.BookingStay;
+import org.kindit.hotel.data.room.Room;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RoomAvailabilityIndexTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusYears(4);
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void changesReachTheIndexOnlyWhenTheTransactionCommits() {
+        transactionTemplate.executeWithoutResult(status -> {
+            availabilityIndex.update(booking(900_001, 70_001));
+            assertThat(availabilityIndex.isFree(70_001, CHECK_IN, CHECK_IN.plusDays(1))).isTrue();
+
+            status.setRollbackOnly();
+        });
+
+        assertThat(availabilityIndex.isFree(70_001, CHECK_IN, CHECK_IN.plusDays(1))).isTrue();
+
+        transactionTemplate.executeWithoutResult(status -> availabilityIndex.update(booking(900_001, 70_001)));
+
+        assertThat(availabilityIndex.isFree(70_001, CHECK_IN, CHECK_IN.plusDays(1))).isFalse();
+
+        transactionTemplate.executeWithoutResult(status -> availabilityIndex.remove(900_001));
+
+        assertThat(availabilityIndex.isFree(70_001, CHECK_IN, CHECK_IN.plusDays(1))).isTrue();
+    }
+
+    @Test
+    void rebuildKeepsServingTheOldIndexAndReplaysChangesCommittedMeanwhile() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<BookingStay> stays = List.of(new BookingStay(1, 10, CHECK_IN, CHECK_IN.plusDays(2)));
+
+        BookingRepository bookingRepository = (BookingRepository) Proxy.newProxyInstance(
+                BookingRepository.class.getClassLoader(),
+                new Class<?>[]{BookingRepository.class},
+                (proxy, method, args) -> {
+                    if (calls.incrementAndGet() > 1) {
+                        reading.countDown();
+                        release.await(5, TimeUnit.SECONDS);
+                    }
+                    // Still the state from before the changes below, as a slow read would return.
+                    return stays;
+                });
+
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(bookingRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.rebuild();
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(index::rebuild);
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(index.isFree(10, CHECK_IN, CHECK_IN)).isFalse();
+
+        index.remove(1);
+        index.update(booking(2, 20));
+
+        assertThat(index.isFree(10, CHECK_IN, CHECK_IN)).isTrue();
+
+        release.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertThat(index.isFree(10, CHECK_IN, CHECK_IN)).isTrue();
+        assertThat(index.isFree(20, CHECK_IN, CHECK_IN)).isFalse();
+    }
+
+    @Test
+    void lookupFindsEveryStayReachingIntoTheRange() {
+        // A long stay that an inner one overlaps, as rows admitted before the lock could.
+        List<BookingStay> stays = List.of(
+                new BookingStay(1, 10, CHECK_IN, CHECK_IN.plusDays(20)),
+                new BookingStay(2, 10, CHECK_IN.plusDays(5), CHECK_IN.plusDays(6)),
+                new BookingStay(3, 10, CHECK_IN.plusDays(30), CHECK_IN.plusDays(32)));
+
+        BookingRepository bookingRepository = (BookingRepository) Proxy.newProxyInstance(
+                BookingRepository.class.getClassLoader(),
+                new Class<?>[]{BookingRepository.class},
+                (proxy, method, args) -> stays);
+
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(bookingRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.rebuild();
+
+        assertThat(index.isFree(10, CHECK_IN.plusDays(10), CHECK_IN.plusDays(12))).isFalse();
+        assertThat(index.isFree(10, CHECK_IN.plusDays(20), CHECK_IN.plusDays(20))).isFalse();
+        assertThat(index.isFree(10, CHECK_IN.plusDays(21), CHECK_IN.plusDays(29))).isTrue();
+        assertThat(index.isFree(10, CHECK_IN.minusDays(3), CHECK_IN.minusDays(1))).isTrue();
+        assertThat(index.isFree(10, CHECK_IN.plusDays(25), CHECK_IN.plusDays(40))).isFalse();
+
+        index.remove(1);
+
+        assertThat(index.isFree(10, CHECK_IN.plusDays(10), CHECK_IN.plusDays(12))).isTrue();
+        assertThat(index.isFree(10, CHECK_IN.plusDays(6), CHECK_IN.plusDays(8))).isFalse();
+
+        index.update(booking(2, 10));
+
+        assertThat(index.isFree(10, CHECK_IN.plusDays(5), CHECK_IN.plusDays(6))).isTrue();
+        assertThat(index.isFree(10, CHECK_IN.plusDays(2), CHECK_IN.plusDays(2))).isFalse();
+
+        index.remove(2);
+        index.remove(3);
+
+        assertThat(index.isFree(10, CHECK_IN, CHECK_IN.plusDays(40))).isTrue();
+    }
+
+    @Test
+    void warmAvailabilitySearchRunsNoSql() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        roomService.getAllAvailableRoom(CHECK_IN, CHECK_IN.plusDays(3));
+        statistics.clear();
+
+        roomService.getAllAvailableRoom(CHECK_IN, CHECK_IN.plusDays(3));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private Booking booking(Integer id, Integer roomId) {
+        return Booking.builder()
+                .id(id)
+                .room(Room.builder().id(roomId).build())
+                .checkInDate(CHECK_IN)
+                .checkOutDate(CHECK_IN.plusDays(2))
+                .status(BookingStatus.PENDING)
+                .build();
+    }
+}
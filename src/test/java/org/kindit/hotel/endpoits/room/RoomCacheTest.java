@@ -0,0 +1,153 @@
+package org.kindit.hotel.endpoits.room;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kindit.hotel.Repository;
+import org.kindit.hotel.data.CacheRegions;
+import org.kindit.hotel.data.additionalService.AdditionalService;
+import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.data.user.Role;
+import org.kindit.hotel.data.user.User;
+import org.kindit.hotel.endpoits.booking.BookingService;
+import org.kindit.hotel.endpoits.booking.request.BookingRequest;
+import org.kindit.hotel.endpoits.room.request.RoomRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RoomCacheTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private Repository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void roomAndItsServicesAreServedFromTheSecondLevelCache() {
+        AdditionalService breakfast = repository.getAdditionalServiceRepository().save(AdditionalService.builder()
+                .name("Breakfast")
+                .price(15)
+                .build());
+
+        RoomRequest request = new RoomRequest();
+        request.setNumber(8001);
+        request.setName("Cached");
+        request.setCapacity(2);
+        request.setPricePerNight(120);
+        request.setAdditionalServiceIds(List.of(breakfast.getId()));
+
+        Integer id = roomService.createRoom(request).getId();
+
+        List<String> first = serviceNames(id);
+        statistics.clear();
+
+        assertThat(serviceNames(id)).isEqualTo(first).containsExactly("Breakfast");
+
+        assertThat(statistics.getEntityStatistics(Room.class.getName()).getCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionStatistics(Room.class.getName() + ".additionalServices").getCacheHitCount())
+                .isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        RoomRequest rename = new RoomRequest();
+        rename.setName("Renamed");
+        rename.setAdditionalServiceIds(List.of());
+        roomService.updateRoom(id, rename);
+
+        assertThat(roomService.getRoomById(id).orElseThrow().getName()).isEqualTo("Renamed");
+        assertThat(serviceNames(id)).isEmpty();
+    }
+
+    @Test
+    void catalogQueriesAreCachedAndHitsAreExposed() {
+        repository.getRoomRepository().findAll();
+        statistics.clear();
+
+        repository.getRoomRepository().findAll();
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", CacheRegions.ROOM)
+                .tag("result", "hit")
+                .functionCounter()).isNotNull();
+    }
+
+    @Test
+    void bookingCreationResolvesServicesFromCacheButLocksTheRoomInTheDatabase() {
+        AdditionalService parking = repository.getAdditionalServiceRepository().save(AdditionalService.builder()
+                .name("Parking")
+                .price(5)
+                .build());
+
+        Room room = repository.getRoomRepository().save(Room.builder()
+                .number(8002)
+                .name("Booked")
+                .capacity(2)
+                .pricePerNight(90)
+                .build());
+
+        User guest = repository.getUserRepository().save(User.builder()
+                .email("cache" + System.nanoTime() + "@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+
+        LocalDate checkIn = LocalDate.now().plusYears(3);
+        bookingService.create(booking(guest, room, parking, checkIn));
+        statistics.clear();
+
+        bookingService.create(booking(guest, room, parking, checkIn.plusDays(10)));
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        // The row lock is only taken by a database read; the room is never served from the cache here.
+        assertThat(statistics.getQueryStatistics("select r from Room r where r.id = :id").getExecutionCount())
+                .isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(Room.class.getName()).getCacheHitCount()).isZero();
+    }
+
+    private BookingRequest booking(User guest, Room room, AdditionalService service, LocalDate checkIn) {
+        BookingRequest request = new BookingRequest();
+        request.setUserId(guest.getId());
+        request.setRoomId(room.getId());
+        request.setCheckInDate(checkIn);
+        request.setCheckOutDate(checkIn.plusDays(2));
+        request.setAdditionalServiceIds(List.of(service.getId()));
+        return request;
+    }
+
+    private List<String> serviceNames(Integer roomId) {
+        return transactionTemplate.execute(status -> roomService.getRoomById(roomId).orElseThrow()
+                .getAdditionalServices().stream()
+                .map(AdditionalService::getName)
+                .toList());
+    }
+}
@@ -0,0 +1,69 @@
+package org.kindit.hotel.endpoits.room;
+
+import org.junit.jupiter.api.Test;
+import org.kindit.hotel.Repository;
+import org.kindit.hotel.data.booking.Booking;
+import org.kindit.hotel.data.booking.BookingStatus;
+import org.kindit.hotel.data.room.Room;
+import org.kindit.hotel.endpoits.room.response.RoomCalendarResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RoomCalendarTest {
+
+    private static final LocalDate FROM = LocalDate.of(2031, 3, 1);
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private Repository repository;
+
+    @Test
+    void calendarIsRunLengthEncodedPerRoom() {
+        Room room = repository.getRoomRepository().save(Room.builder()
+                .number(7001)
+                .name("Calendar")
+                .capacity(2)
+                .pricePerNight(100)
+                .build());
+
+        // Starts before the window and is clipped to it.
+        book(room, FROM.minusDays(3), FROM.plusDays(1), BookingStatus.CONFIRMED);
+        // Two adjacent pending stays collapse into one run.
+        book(room, FROM.plusDays(5), FROM.plusDays(6), BookingStatus.PENDING);
+        book(room, FROM.plusDays(7), FROM.plusDays(8), BookingStatus.PENDING);
+        // Inactive bookings leave the days free.
+        book(room, FROM.plusDays(10), FROM.plusDays(12), BookingStatus.CANCELLED);
+        // Runs past the end of the window.
+        book(room, FROM.plusDays(13), FROM.plusDays(40), BookingStatus.CHECKED_IN);
+
+        RoomCalendarResponse calendar = roomService.getCalendar(FROM, FROM.plusDays(14));
+
+        RoomCalendarResponse.RoomRow row = calendar.rooms().stream()
+                .filter(r -> r.id().equals(room.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(row.runs()).containsExactly(
+                new RoomCalendarResponse.Run(0, 2, BookingStatus.CONFIRMED),
+                new RoomCalendarResponse.Run(5, 4, BookingStatus.PENDING),
+                new RoomCalendarResponse.Run(13, 2, BookingStatus.CHECKED_IN)
+        );
+    }
+
+    private void book(Room room, LocalDate checkIn, LocalDate checkOut, BookingStatus status) {
+        repository.getBookingRepository().save(Booking.builder()
+                .room(room)
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .status(status)
+                .totalPrice(100)
+                .build());
+    }
+}
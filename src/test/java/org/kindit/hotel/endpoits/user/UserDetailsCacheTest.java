@@ -0,0 +1,106 @@
+package org.kindit.hotel.endpoits.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.kindit.hotel.Repository;
+import org.kindit.hotel.config.UserDetailsCache;
+import org.kindit.hotel.data.user.Role;
+import org.kindit.hotel.data.user.User;
+import org.kindit.hotel.endpoits.user.request.UserRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UserDetailsCacheTest {
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private Repository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Test
+    void roleChangeIsVisibleOnTheNextRequest() {
+        User user = repository.getUserRepository().save(User.builder()
+                .email("cached@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+
+        double hitsBefore = cacheCount("hit");
+
+        userDetailsService.loadUserByUsername(user.getEmail());
+        assertThat(userDetailsService.loadUserByUsername(user.getEmail()).getAuthorities())
+                .extracting(Object::toString)
+                .containsExactly("USER");
+        assertThat(cacheCount("hit")).isEqualTo(hitsBefore + 1);
+
+        userService.patch(user.getId(), UserRequest.builder().role(Role.ADMIN).build());
+
+        assertThat(userDetailsService.loadUserByUsername(user.getEmail()).getAuthorities())
+                .extracting(Object::toString)
+                .containsExactly("ADMIN");
+    }
+
+    @Test
+    void evictionDuringALoadIsNotUndone() throws Exception {
+        String email = "racing@example.com";
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<UserDetails> stale = CompletableFuture.supplyAsync(() -> userDetailsCache.get(email, e -> {
+            loading.countDown();
+            await(release);
+            return principal(e, "USER");
+        }));
+
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        userDetailsCache.evict(email);
+        release.countDown();
+        stale.get(5, TimeUnit.SECONDS);
+
+        assertThat(userDetailsCache.get(email, e -> principal(e, "ADMIN")).getAuthorities())
+                .extracting(Object::toString)
+                .containsExactly("ADMIN");
+    }
+
+    private static UserDetails principal(String email, String role) {
+        return org.springframework.security.core.userdetails.User.withUsername(email)
+                .password("password")
+                .authorities(role)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "userDetails")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}